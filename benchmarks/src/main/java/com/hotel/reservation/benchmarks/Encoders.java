@@ -0,0 +1,203 @@
+package com.hotel.reservation.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.protobuf.MessageLite;
+import com.hotel.reservation.controller.soap.GetReservationResponse;
+import com.hotel.reservation.controller.soap.ListReservationsResponse;
+import com.hotel.reservation.controller.soap.ReservationItem;
+import com.hotel.reservation.entity.Chambre;
+import com.hotel.reservation.entity.Client;
+import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.proto.ReservationResponse;
+import com.hotel.reservation.proto.v2.ChambreSummary;
+import com.hotel.reservation.proto.v2.ClientSummary;
+import graphql.ExecutionResultImpl;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encode une {@link Payload} comme chaque protocole de l'API la met sur le fil. Les objets propres
+ * à chaque format (réponses JAXB, messages Protobuf, résultat GraphQL) sont construits une fois à
+ * la création : seul l'encodage est mesuré, pas la conversion depuis l'entité.
+ * <p>
+ * Non thread-safe (Marshaller JAXB) : une instance par thread.
+ */
+public class Encoders {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    private final ObjectMapper objectMapper;
+    private final Marshaller marshaller;
+
+    private final Object json;
+    private final Object xml;
+    private final MessageLite protobuf;
+    private final MessageLite protobufV2;
+    private final Map<String, Object> graphqlData;
+
+    public Encoders(Payload payload) {
+        // Réglages de Spring Boot (JacksonAutoConfiguration) : dates ISO plutôt que tableaux
+        this.objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        try {
+            this.marshaller = JAXBContext.newInstance(GetReservationResponse.class, ListReservationsResponse.class)
+                    .createMarshaller();
+            // Dans une enveloppe SOAP, la charge utile n'a pas de déclaration XML
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        } catch (JAXBException e) {
+            throw new IllegalStateException("Contexte JAXB indisponible", e);
+        }
+
+        List<Reservation> reservations = payload.reservations();
+        if (payload.isList()) {
+            // Les listes telles que les renvoient GET /api/reservations, listReservations (SOAP et gRPC)
+            // et getAllReservations (GraphQL)
+            json = reservations;
+            ListReservationsResponse soapList = new ListReservationsResponse();
+            com.hotel.reservation.proto.ListReservationsResponse.Builder grpcList =
+                    com.hotel.reservation.proto.ListReservationsResponse.newBuilder();
+            com.hotel.reservation.proto.v2.ListReservationsResponse.Builder grpcV2List =
+                    com.hotel.reservation.proto.v2.ListReservationsResponse.newBuilder();
+            List<Object> graphqlList = new ArrayList<>(reservations.size());
+            for (Reservation reservation : reservations) {
+                soapList.getReservation().add(toItem(reservation));
+                grpcList.addReservations(toResponse(reservation));
+                grpcV2List.addReservations(toV2Message(reservation));
+                graphqlList.add(toGraphQL(reservation));
+            }
+            xml = soapList;
+            protobuf = grpcList.build();
+            protobufV2 = grpcV2List.build();
+            graphqlData = Map.of("getAllReservations", graphqlList);
+        } else {
+            Reservation reservation = reservations.get(0);
+            json = reservation;
+            xml = toGetResponse(reservation);
+            protobuf = toResponse(reservation);
+            protobufV2 = toV2Message(reservation);
+            graphqlData = Map.of("getReservation", toGraphQL(reservation));
+        }
+    }
+
+    /** Corps JSON d'une réponse REST (l'entité, comme ReservationRestController). */
+    public byte[] jackson() {
+        try {
+            return objectMapper.writeValueAsBytes(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Charge utile SOAP (getReservationResponse ou listReservationsResponse), sans l'enveloppe. */
+    public byte[] jaxb() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        try {
+            marshaller.marshal(xml, out);
+        } catch (JAXBException e) {
+            throw new IllegalStateException("Marshalling JAXB impossible", e);
+        }
+        return out.toByteArray();
+    }
+
+    /** Message gRPC ReservationService (dates en chaînes ISO). */
+    public byte[] protobuf() {
+        return protobuf.toByteArray();
+    }
+
+    /** Message gRPC ReservationServiceV2 (dates en jours depuis l'epoch, résumés client et chambre). */
+    public byte[] protobufV2() {
+        return protobufV2.toByteArray();
+    }
+
+    /**
+     * Réponse GraphQL : le résultat d'exécution mis au format de la spécification puis écrit en JSON,
+     * comme le fait Spring for GraphQL. Les données sont celles qu'aurait produites la requête
+     * { id dateDebut dateFin preferences client { id nom prenom } chambre { id type prix } }.
+     */
+    public byte[] graphql() {
+        try {
+            return objectMapper.writeValueAsBytes(
+                    ExecutionResultImpl.newExecutionResult().data(graphqlData).build().toSpecification());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static GetReservationResponse toGetResponse(Reservation reservation) {
+        GetReservationResponse response = new GetReservationResponse();
+        response.setId(reservation.getId());
+        response.setDateDebut(reservation.getDateDebut());
+        response.setDateFin(reservation.getDateFin());
+        response.setPreferences(reservation.getPreferences());
+        return response;
+    }
+
+    private static ReservationItem toItem(Reservation reservation) {
+        ReservationItem item = new ReservationItem();
+        item.setId(reservation.getId());
+        item.setChambreId(reservation.getChambre().getId());
+        item.setDateDebut(reservation.getDateDebut());
+        item.setDateFin(reservation.getDateFin());
+        item.setPreferences(reservation.getPreferences());
+        return item;
+    }
+
+    private static ReservationResponse toResponse(Reservation reservation) {
+        return ReservationResponse.newBuilder()
+                .setId(reservation.getId())
+                .setDateDebut(reservation.getDateDebut().format(FORMATTER))
+                .setDateFin(reservation.getDateFin().format(FORMATTER))
+                .setPreferences(reservation.getPreferences())
+                .build();
+    }
+
+    private static com.hotel.reservation.proto.v2.Reservation toV2Message(Reservation reservation) {
+        Client client = reservation.getClient();
+        Chambre chambre = reservation.getChambre();
+        return com.hotel.reservation.proto.v2.Reservation.newBuilder()
+                .setId(reservation.getId())
+                .setDateDebut((int) reservation.getDateDebut().toEpochDay())
+                .setDateFin((int) reservation.getDateFin().toEpochDay())
+                .setPreferences(reservation.getPreferences())
+                .setVersion(reservation.getVersion())
+                .setClient(ClientSummary.newBuilder().setId(client.getId()).setNom(client.getNom()).setPrenom(client.getPrenom()))
+                .setChambre(ChambreSummary.newBuilder().setId(chambre.getId()).setType(chambre.getType()).setPrix(chambre.getPrix()))
+                .build();
+    }
+
+    private static Map<String, Object> toGraphQL(Reservation reservation) {
+        // ID est sérialisé en chaîne, les dates passent par le type String du schéma (LocalDate.toString)
+        Client client = reservation.getClient();
+        Map<String, Object> clientData = new LinkedHashMap<>();
+        clientData.put("id", String.valueOf(client.getId()));
+        clientData.put("nom", client.getNom());
+        clientData.put("prenom", client.getPrenom());
+
+        Chambre chambre = reservation.getChambre();
+        Map<String, Object> chambreData = new LinkedHashMap<>();
+        chambreData.put("id", String.valueOf(chambre.getId()));
+        chambreData.put("type", chambre.getType());
+        chambreData.put("prix", chambre.getPrix());
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("id", String.valueOf(reservation.getId()));
+        data.put("dateDebut", reservation.getDateDebut().toString());
+        data.put("dateFin", reservation.getDateFin().toString());
+        data.put("preferences", reservation.getPreferences());
+        data.put("client", clientData);
+        data.put("chambre", chambreData);
+        return data;
+    }
+}
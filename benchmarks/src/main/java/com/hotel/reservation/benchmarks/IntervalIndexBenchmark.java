@@ -0,0 +1,146 @@
+package com.hotel.reservation.benchmarks;
+
+import com.hotel.reservation.repository.ReservationPeriod;
+import com.hotel.reservation.service.ReservationIntervalIndex;
+import com.hotel.reservation.service.RoomNightClaims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vérification de disponibilité sur un index de 1 000 000 de séjours, comparée au parcours
+ * linéaire des séjours de la chambre (ce que fait une requête sans index sur la période).
+ * Le nombre de chambres fixe le nombre de séjours par chambre : 1 000 000 / rooms.
+ * <pre>
+ * java -jar target/benchmarks.jar IntervalIndexBenchmark
+ * java -jar target/benchmarks.jar IntervalIndexBenchmark.build -p rooms=1000
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class IntervalIndexBenchmark {
+    private static final int RESERVATIONS = 1_000_000;
+    private static final int QUERIES = 4096;
+    private static final LocalDate BASE = LocalDate.of(2025, 1, 1);
+
+    @Param({"1000", "10000"})
+    private int rooms;
+
+    private ReservationPeriod[] periods;
+    // Séjours de chaque chambre dans l'ordre, pour le parcours linéaire : [début, fin[ en jours epoch
+    private long[][] roomStarts;
+    private long[][] roomEnds;
+    private ReservationIntervalIndex index;
+
+    private long[] queryRooms;
+    private LocalDate[] queryFrom;
+    private LocalDate[] queryTo;
+    private long horizonEnd;
+    private int next;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        int perRoom = RESERVATIONS / rooms;
+        periods = new ReservationPeriod[RESERVATIONS];
+        roomStarts = new long[rooms][perRoom];
+        roomEnds = new long[rooms][perRoom];
+        int id = 0;
+        for (int room = 0; room < rooms; room++) {
+            long day = BASE.toEpochDay();
+            for (int stay = 0; stay < perRoom; stay++) {
+                day += random.nextInt(4);
+                long end = day + 1 + random.nextInt(7);
+                roomStarts[room][stay] = day;
+                roomEnds[room][stay] = end;
+                periods[id] = new ReservationPeriod(id + 1L, (long) room, LocalDate.ofEpochDay(day), LocalDate.ofEpochDay(end));
+                id++;
+                day = end;
+            }
+            horizonEnd = Math.max(horizonEnd, day);
+        }
+        index = build();
+        nextId = id + 1L;
+
+        queryRooms = new long[QUERIES];
+        queryFrom = new LocalDate[QUERIES];
+        queryTo = new LocalDate[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            int room = random.nextInt(rooms);
+            long start = random.nextLong(roomStarts[room][0], roomEnds[room][perRoom - 1]);
+            queryRooms[i] = room;
+            queryFrom[i] = LocalDate.ofEpochDay(start);
+            queryTo[i] = LocalDate.ofEpochDay(start + 1 + random.nextInt(7));
+        }
+    }
+
+    /**
+     * Chargement complet de l'index, comme au démarrage de l'application.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public ReservationIntervalIndex build() {
+        // Le dépôt ne sert qu'au chargement depuis la base (load), non appelé ici
+        ReservationIntervalIndex built = new ReservationIntervalIndex(null, new RoomNightClaims(null, null, null, false));
+        for (ReservationPeriod period : periods) {
+            built.reserve(period);
+        }
+        return built;
+    }
+
+    @Benchmark
+    public boolean isAvailable() {
+        int i = next++ & (QUERIES - 1);
+        return index.isAvailable(queryRooms[i], queryFrom[i], queryTo[i]);
+    }
+
+    @Benchmark
+    public boolean linearScan() {
+        int i = next++ & (QUERIES - 1);
+        int room = (int) queryRooms[i];
+        long start = queryFrom[i].toEpochDay();
+        long end = queryTo[i].toEpochDay();
+        long[] starts = roomStarts[room];
+        long[] ends = roomEnds[room];
+        for (int stay = 0; stay < starts.length; stay++) {
+            if (starts[stay] < end && start < ends[stay]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Réservation puis annulation d'un séjour libre (après le dernier séjour de la chambre) :
+     * insertion et suppression dans l'arbre avec rééquilibrage.
+     */
+    @Benchmark
+    public ReservationPeriod reserveAndRelease() {
+        int i = next++ & (QUERIES - 1);
+        long id = nextId++;
+        LocalDate from = LocalDate.ofEpochDay(horizonEnd + (i & 63));
+        index.reserve(new ReservationPeriod(id, queryRooms[i], from, from.plusDays(1)));
+        return index.release(id);
+    }
+}
@@ -0,0 +1,46 @@
+package com.hotel.reservation.benchmarks;
+
+import com.hotel.reservation.entity.Chambre;
+import com.hotel.reservation.entity.Client;
+import com.hotel.reservation.entity.Reservation;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Charges utiles des benchmarks, telles que les contrôleurs les reçoivent du service (réservation
+ * avec son client et sa chambre chargés).
+ */
+public enum Payload {
+    /** Une réservation avec des préférences courtes. */
+    SMALL(1, "Vue sur mer, lit bébé"),
+    /** Une réservation dont les préférences remplissent la colonne (1000 caractères, environ 1 Ko). */
+    MEDIUM(1, "Chambre calme loin de l'ascenseur, oreillers hypoallergéniques, arrivée tardive. ".repeat(13).substring(0, 1000)),
+    /** Une liste de 1000 réservations comme SMALL. */
+    LIST(1000, SMALL.preferences);
+
+    private final int count;
+    private final String preferences;
+
+    Payload(int count, String preferences) {
+        this.count = count;
+        this.preferences = preferences;
+    }
+
+    public boolean isList() {
+        return this == LIST;
+    }
+
+    public List<Reservation> reservations() {
+        List<Reservation> reservations = new ArrayList<>(count);
+        LocalDate debut = LocalDate.of(2024, 6, 1);
+        for (int i = 0; i < count; i++) {
+            Client client = new Client(100L + i % 50, "Dupont", "Marie", "marie.dupont@example.com", "+33 6 12 34 56 78", 0L);
+            Chambre chambre = new Chambre(10L + i % 20, "DOUBLE", 120.0, true, 0L);
+            LocalDate dateDebut = debut.plusDays(i % 300);
+            reservations.add(new Reservation(1000L + i, client, chambre, dateDebut, dateDebut.plusDays(3), preferences, 0L));
+        }
+        return reservations;
+    }
+}
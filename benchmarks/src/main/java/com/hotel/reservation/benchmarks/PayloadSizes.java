@@ -0,0 +1,24 @@
+package com.hotel.reservation.benchmarks;
+
+/**
+ * Affiche la taille encodée de chaque charge utile par format, complément des résultats JMH de
+ * {@link SerializationBenchmark} (hors en-têtes HTTP/2 ou HTTP/1.1 et enveloppe SOAP).
+ */
+public final class PayloadSizes {
+
+    private PayloadSizes() {
+    }
+
+    public static void main(String[] args) {
+        System.out.printf("%-8s %10s %10s %10s %12s %10s%n", "payload", "jackson", "jaxb", "protobuf", "protobufV2", "graphql");
+        for (Payload payload : Payload.values()) {
+            Encoders encoders = new Encoders(payload);
+            System.out.printf("%-8s %10d %10d %10d %12d %10d%n", payload,
+                    encoders.jackson().length,
+                    encoders.jaxb().length,
+                    encoders.protobuf().length,
+                    encoders.protobufV2().length,
+                    encoders.graphql().length);
+        }
+    }
+}
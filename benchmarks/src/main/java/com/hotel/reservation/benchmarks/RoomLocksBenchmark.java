@@ -0,0 +1,82 @@
+package com.hotel.reservation.benchmarks;
+
+import com.hotel.reservation.service.RoomLocks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Réservations par milliseconde à travers RoomLocks selon le nombre de threads : chaque opération
+ * ouvre une pseudo-transaction, verrouille une chambre, simule vérification et insertion (work unités
+ * de Blackhole.consumeCPU) puis libère le verrou comme le ferait le commit. rooms=1 : tous les threads
+ * réservent la même chambre et sont sérialisés ; rooms=64 : chaque thread a sa chambre et le débit
+ * doit croître avec le nombre de threads, jusqu'au nombre de cœurs.
+ * <pre>
+ * for t in 1 2 4 8; do java -jar target/benchmarks.jar RoomLocksBenchmark -t $t; done
+ * java -jar target/benchmarks.jar RoomLocksBenchmark -t 4 -p rooms=64 -p work=10000
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoomLocksBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Locks {
+        @Param({"1", "64"})
+        int rooms;
+
+        @Param({"1000"})
+        int work;
+
+        RoomLocks roomLocks;
+        final AtomicInteger threads = new AtomicInteger();
+
+        @Setup
+        public void setUp() {
+            roomLocks = new RoomLocks(new SimpleMeterRegistry(), Duration.ofSeconds(30), 1024);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Booker {
+        long chambreId;
+
+        @Setup
+        public void setUp(Locks locks) {
+            chambreId = 1 + locks.threads.getAndIncrement() % locks.rooms;
+        }
+    }
+
+    @Benchmark
+    public void book(Locks locks, Booker booker) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            locks.roomLocks.lock(booker.chambreId);
+            Blackhole.consumeCPU(locks.work);
+        } finally {
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_COMMITTED);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
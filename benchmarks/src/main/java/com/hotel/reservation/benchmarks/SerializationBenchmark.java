@@ -0,0 +1,69 @@
+package com.hotel.reservation.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût d'encodage d'une réponse de réservation par protocole, en opérations par seconde.
+ * Avec -prof gc, gc.alloc.rate.norm donne les octets alloués par opération ; la taille encodée
+ * (octets sur le fil) est affichée par {@link PayloadSizes}.
+ * <pre>
+ * java -jar target/benchmarks.jar -prof gc
+ * java -jar target/benchmarks.jar SerializationBenchmark.protobuf -p payload=LIST -prof gc
+ * java -cp target/benchmarks.jar com.hotel.reservation.benchmarks.PayloadSizes
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LIST"})
+    private Payload payload;
+
+    private Encoders encoders;
+
+    @Setup
+    public void setUp() {
+        encoders = new Encoders(payload);
+    }
+
+    @Benchmark
+    public byte[] jackson() {
+        return encoders.jackson();
+    }
+
+    @Benchmark
+    public byte[] jaxb() {
+        return encoders.jaxb();
+    }
+
+    @Benchmark
+    public byte[] protobuf() {
+        return encoders.protobuf();
+    }
+
+    @Benchmark
+    public byte[] protobufV2() {
+        return encoders.protobufV2();
+    }
+
+    @Benchmark
+    public byte[] graphql() {
+        return encoders.graphql();
+    }
+}
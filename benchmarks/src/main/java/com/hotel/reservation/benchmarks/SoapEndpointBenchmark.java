@@ -0,0 +1,133 @@
+package com.hotel.reservation.benchmarks;
+
+import com.hotel.reservation.config.PooledJaxbPayloadMethodProcessor;
+import com.hotel.reservation.controller.soap.CreateReservationRequest;
+import com.hotel.reservation.controller.soap.CreateReservationResponse;
+import com.hotel.reservation.controller.soap.GetReservationRequest;
+import com.hotel.reservation.controller.soap.GetReservationResponse;
+import com.hotel.reservation.controller.soap.ReservationEndpoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.ws.context.DefaultMessageContext;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.endpoint.adapter.method.MethodArgumentResolver;
+import org.springframework.ws.server.endpoint.adapter.method.MethodReturnValueHandler;
+import org.springframework.ws.server.endpoint.adapter.method.jaxb.XmlRootElementPayloadMethodProcessor;
+import org.springframework.ws.soap.SoapVersion;
+import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Traitement SOAP en mémoire d'un create et d'un get, hors dispatcher et service : lecture de
+ * l'enveloppe par SaajSoapMessageFactory, unmarshalling de la requête, marshalling de la réponse et
+ * écriture de l'enveloppe de réponse. poolSize suit reservation.soap.jaxb.pool-size : 0 pour
+ * XmlRootElementPayloadMethodProcessor (un Marshaller/Unmarshaller par message), sinon
+ * PooledJaxbPayloadMethodProcessor. Avec -prof gc, gc.alloc.rate.norm donne les octets alloués par échange.
+ * <pre>
+ * java -jar target/benchmarks.jar SoapEndpointBenchmark -prof gc
+ * java -jar target/benchmarks.jar SoapEndpointBenchmark.create -p poolSize=16 -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SoapEndpointBenchmark {
+    private static final String ENVELOPE_START = "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\" "
+            + "xmlns:r=\"http://hotel.com/reservation/soap\"><soapenv:Header/><soapenv:Body>";
+    private static final String ENVELOPE_END = "</soapenv:Body></soapenv:Envelope>";
+
+    @Param({"0", "16"})
+    private int poolSize;
+
+    private SaajSoapMessageFactory messageFactory;
+    private MethodArgumentResolver resolver;
+    private MethodReturnValueHandler handler;
+    private MethodParameter createParameter;
+    private MethodParameter createReturnType;
+    private MethodParameter getParameter;
+    private MethodParameter getReturnType;
+    private byte[] createEnvelope;
+    private byte[] getEnvelope;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(2048);
+
+    @Setup
+    public void setUp() throws Exception {
+        messageFactory = new SaajSoapMessageFactory();
+        messageFactory.setSoapVersion(SoapVersion.SOAP_11);
+        messageFactory.afterPropertiesSet();
+        if (poolSize > 0) {
+            PooledJaxbPayloadMethodProcessor processor = new PooledJaxbPayloadMethodProcessor(poolSize);
+            resolver = processor;
+            handler = processor;
+        } else {
+            XmlRootElementPayloadMethodProcessor processor = new XmlRootElementPayloadMethodProcessor();
+            resolver = processor;
+            handler = processor;
+        }
+        Method create = ReservationEndpoint.class.getMethod("createReservation", CreateReservationRequest.class);
+        createParameter = new MethodParameter(create, 0);
+        createReturnType = new MethodParameter(create, -1);
+        Method get = ReservationEndpoint.class.getMethod("getReservation", GetReservationRequest.class);
+        getParameter = new MethodParameter(get, 0);
+        getReturnType = new MethodParameter(get, -1);
+
+        createEnvelope = (ENVELOPE_START + "<r:createReservationRequest><r:dateDebut>2030-06-01</r:dateDebut>"
+                + "<r:dateFin>2030-06-03</r:dateFin><r:preferences>Vue sur mer, étage élevé</r:preferences>"
+                + "</r:createReservationRequest>" + ENVELOPE_END).getBytes(StandardCharsets.UTF_8);
+        getEnvelope = (ENVELOPE_START + "<r:getReservationRequest><r:id>42</r:id></r:getReservationRequest>"
+                + ENVELOPE_END).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int create() throws Exception {
+        MessageContext context = new DefaultMessageContext(
+                messageFactory.createWebServiceMessage(new ByteArrayInputStream(createEnvelope)), messageFactory);
+        CreateReservationRequest request = (CreateReservationRequest) resolver.resolveArgument(context, createParameter);
+        CreateReservationResponse response = new CreateReservationResponse();
+        response.setId(42L);
+        response.setDateDebut(request.getDateDebut());
+        response.setDateFin(request.getDateFin());
+        response.setPreferences(request.getPreferences());
+        handler.handleReturnValue(context, createReturnType, response);
+        return write(context);
+    }
+
+    @Benchmark
+    public int get() throws Exception {
+        MessageContext context = new DefaultMessageContext(
+                messageFactory.createWebServiceMessage(new ByteArrayInputStream(getEnvelope)), messageFactory);
+        GetReservationRequest request = (GetReservationRequest) resolver.resolveArgument(context, getParameter);
+        GetReservationResponse response = new GetReservationResponse();
+        response.setId(request.getId());
+        response.setDateDebut(LocalDate.of(2030, 6, 1));
+        response.setDateFin(LocalDate.of(2030, 6, 3));
+        response.setPreferences("Vue sur mer, étage élevé");
+        handler.handleReturnValue(context, getReturnType, response);
+        return write(context);
+    }
+
+    private int write(MessageContext context) throws Exception {
+        out.reset();
+        context.getResponse().writeTo(out);
+        return out.size();
+    }
+}
@@ -0,0 +1,172 @@
+package com.hotel.reservation.benchmarks;
+
+import com.hotel.reservation.config.SoapBodyCleaningRequestWrapper;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecture d'une requête SOAP à travers SoapBodyCleaningRequestWrapper, comparée à l'ancienne version
+ * qui recopiait le corps ligne à ligne (StringBuilder, String, substring, puis octets). Le corps est
+ * lu en entier dans les deux cas, comme le fait ensuite Spring WS ; formPrefix place des métadonnées
+ * de formulaire avant l'enveloppe. Avec -prof gc, gc.alloc.rate.norm donne les octets alloués par requête.
+ * <pre>
+ * java -jar target/benchmarks.jar SoapRequestWrapperBenchmark -prof gc
+ * java -jar target/benchmarks.jar SoapRequestWrapperBenchmark -p size=1048576 -p formPrefix=false -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SoapRequestWrapperBenchmark {
+    private static final String FORM_PREFIX = "------=_Part_0\r\nContent-Disposition: form-data; name=\"request\"\r\n\r\n";
+    private static final String[] LEGACY_PATTERNS = {
+            "<soapenv:Envelope", "<soap:Envelope", "<SOAP-ENV:Envelope", "<SOAP:Envelope", "<Envelope", "<"
+    };
+
+    @Param({"1024", "1048576"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean formPrefix;
+
+    private byte[] body;
+    private final byte[] sink = new byte[8192];
+
+    @Setup
+    public void setUp() {
+        StringBuilder envelope = new StringBuilder(size + 512)
+                .append(formPrefix ? FORM_PREFIX : "")
+                .append("<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\"\r\n")
+                .append("                  xmlns:r=\"http://hotel.com/reservation/soap\">\r\n")
+                .append("  <soapenv:Body>\r\n    <r:createReservationRequest>\r\n")
+                .append("      <r:dateDebut>2030-06-01</r:dateDebut>\r\n      <r:dateFin>2030-06-03</r:dateFin>\r\n")
+                .append("      <r:preferences>");
+        String footer = "</r:preferences>\r\n    </r:createReservationRequest>\r\n  </soapenv:Body>\r\n</soapenv:Envelope>\r\n";
+        // Préférences sur des lignes de 80 caractères jusqu'à la taille visée
+        while (envelope.length() + footer.length() < size) {
+            envelope.append("Vue sur mer, étage élevé, lit double, arrivée tardive, sans allergènes.  \r\n");
+        }
+        body = envelope.append(footer).toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public long streaming() throws IOException {
+        return drain(new SoapBodyCleaningRequestWrapper(request(body)).getInputStream());
+    }
+
+    @Benchmark
+    public long lineByLine() throws IOException {
+        return drain(new ByteArrayInputStream(legacyClean(request(body))));
+    }
+
+    // Ancienne SoapBodyCleaningRequestWrapper.cleanRequestBody, sans les journaux
+    private static byte[] legacyClean(HttpServletRequest request) throws IOException {
+        StringBuilder body = new StringBuilder();
+        try (BufferedReader reader = request.getReader()) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                body.append(line).append("\n");
+            }
+        }
+        String bodyStr = body.toString();
+        if (bodyStr.trim().startsWith("<")) {
+            return bodyStr.getBytes(StandardCharsets.UTF_8);
+        }
+        int xmlStart = -1;
+        for (String pattern : LEGACY_PATTERNS) {
+            xmlStart = bodyStr.indexOf(pattern);
+            if (xmlStart >= 0) {
+                break;
+            }
+        }
+        return (xmlStart < 0 ? bodyStr : bodyStr.substring(xmlStart)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private long drain(InputStream in) throws IOException {
+        long total = 0;
+        int n;
+        while ((n = in.read(sink, 0, sink.length)) != -1) {
+            total += n;
+        }
+        return total;
+    }
+
+    /**
+     * Requête minimale : seuls le corps, sa longueur et son type sont servis.
+     */
+    private HttpServletRequest request(byte[] content) {
+        ServletInputStream stream = new ByteArrayServletInputStream(content);
+        String contentType = formPrefix ? "multipart/form-data; boundary=----=_Part_0" : "text/xml; charset=UTF-8";
+        return (HttpServletRequest) Proxy.newProxyInstance(HttpServletRequest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getInputStream" -> stream;
+                    case "getReader" -> new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+                    case "getContentLength" -> content.length;
+                    case "getContentLengthLong" -> (long) content.length;
+                    case "getContentType" -> contentType;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> method.getReturnType() == boolean.class ? Boolean.FALSE
+                            : method.getReturnType() == int.class ? 0
+                            : method.getReturnType() == long.class ? 0L
+                            : null;
+                });
+    }
+
+    private static final class ByteArrayServletInputStream extends ServletInputStream {
+        private final ByteArrayInputStream in;
+
+        ByteArrayServletInputStream(byte[] content) {
+            this.in = new ByteArrayInputStream(content);
+        }
+
+        @Override
+        public int read() {
+            return in.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            return in.read(b, off, len);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return in.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
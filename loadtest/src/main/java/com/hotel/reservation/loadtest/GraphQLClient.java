@@ -0,0 +1,49 @@
+package com.hotel.reservation.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+
+/**
+ * Client GraphQL (/graphql). Les erreurs arrivent en HTTP 200 : une réponse avec "errors", ou dont
+ * le champ demandé vaut null ou false (réservation absente, suppression refusée), est une erreur.
+ */
+class GraphQLClient extends HttpProtocolClient {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    GraphQLClient(Workload workload, LoadTestOptions options) {
+        super(Protocol.GRAPHQL, "application/json", workload, options);
+    }
+
+    @Override
+    protected void check(Operation operation, HttpResponse<String> response) {
+        super.check(operation, response);
+        JsonNode field = rootField(response.body());
+        if (field.isNull() || field.isMissingNode() || (field.isBoolean() && !field.booleanValue())) {
+            throw new IllegalStateException("Réponse GraphQL en erreur " + abbreviate(response.body()));
+        }
+    }
+
+    @Override
+    protected long extractId(String body) {
+        return rootField(body).path("id").asLong();
+    }
+
+    private static JsonNode rootField(String body) {
+        try {
+            JsonNode response = MAPPER.readTree(body);
+            if (response.has("errors")) {
+                return MissingNode.getInstance();
+            }
+            Iterator<JsonNode> fields = response.path("data").elements();
+            return fields.hasNext() ? fields.next() : MissingNode.getInstance();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.hotel.reservation.loadtest;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.util.JsonFormat;
+import com.hotel.reservation.proto.CreateReservationRequest;
+import com.hotel.reservation.proto.DeleteReservationRequest;
+import com.hotel.reservation.proto.GetReservationRequest;
+import com.hotel.reservation.proto.ReservationServiceGrpc;
+import com.hotel.reservation.proto.UpdateReservationRequest;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client gRPC (ReservationService) : les corps JSON de la collection sont convertis en messages par
+ * JsonFormat, comme le fait Postman. Chaque appel porte un délai égal au timeout des requêtes.
+ */
+class GrpcClient implements ProtocolClient {
+    private static final JsonFormat.Parser PARSER = JsonFormat.parser();
+
+    final ManagedChannel channel;
+    private final ReservationServiceGrpc.ReservationServiceBlockingStub stub;
+    private final Workload workload;
+    private final Duration timeout;
+    private final long daysPerCycle;
+
+    GrpcClient(Workload workload, LoadTestOptions options) {
+        this.channel = ManagedChannelBuilder.forTarget(options.grpcTarget()).usePlaintext().build();
+        this.stub = ReservationServiceGrpc.newBlockingStub(channel);
+        this.workload = workload;
+        this.timeout = options.timeout();
+        this.daysPerCycle = workload.daysPerCycle(Protocol.GRPC);
+    }
+
+    @Override
+    public long create(long cycle) throws InvalidProtocolBufferException {
+        CreateReservationRequest request = parse(Operation.CREATE, 0, cycle, CreateReservationRequest.newBuilder());
+        return stub().createReservation(request).getId();
+    }
+
+    @Override
+    public void get(long id) throws InvalidProtocolBufferException {
+        stub().getReservation(parse(Operation.GET, id, 0, GetReservationRequest.newBuilder()));
+    }
+
+    @Override
+    public void update(long id, long cycle) throws InvalidProtocolBufferException {
+        stub().updateReservation(parse(Operation.UPDATE, id, cycle, UpdateReservationRequest.newBuilder()));
+    }
+
+    @Override
+    public void delete(long id) throws InvalidProtocolBufferException {
+        stub().deleteReservation(parse(Operation.DELETE, id, 0, DeleteReservationRequest.newBuilder()));
+    }
+
+    @Override
+    public void close() {
+        channel.shutdown();
+        try {
+            if (!channel.awaitTermination(5, TimeUnit.SECONDS)) {
+                channel.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            channel.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ReservationServiceGrpc.ReservationServiceBlockingStub stub() {
+        return stub.withDeadlineAfter(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T extends Message> T parse(Operation operation, long reservationId, long cycle, Message.Builder builder)
+            throws InvalidProtocolBufferException {
+        PARSER.merge(workload.request(Protocol.GRPC, operation).body().render(reservationId, cycle * daysPerCycle), builder);
+        return (T) builder.build();
+    }
+}
@@ -0,0 +1,135 @@
+package com.hotel.reservation.loadtest;
+
+import com.hotel.reservation.proto.BookingAck;
+import com.hotel.reservation.proto.BookingCommand;
+import com.hotel.reservation.proto.CreateReservationRequest;
+import com.hotel.reservation.proto.DeleteReservationRequest;
+import com.hotel.reservation.proto.ReservationServiceGrpc;
+import com.hotel.reservation.proto.UpdateReservationRequest;
+import io.grpc.stub.StreamObserver;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client gRPC dont les créations, modifications et annulations passent par le flux BookReservations ;
+ * la lecture reste un appel unaire, le flux n'en ayant pas. Tous les threads partagent un même flux :
+ * le serveur regroupe en un lot les commandes arrivées pendant le traitement du lot précédent, ce que
+ * --protocols=grpc,grpc-stream compare aux appels unaires à charge égale. La latence d'une opération
+ * va de l'envoi de la commande à la réception de son accusé, attendu au plus le timeout des requêtes.
+ */
+class GrpcStreamClient implements ProtocolClient {
+    private final GrpcClient unary;
+    private final ReservationServiceGrpc.ReservationServiceStub asyncStub;
+    private final Duration timeout;
+    private final AtomicLong commandIds = new AtomicLong();
+    private Session session;
+
+    GrpcStreamClient(Workload workload, LoadTestOptions options) {
+        this.unary = new GrpcClient(workload, options);
+        this.asyncStub = ReservationServiceGrpc.newStub(unary.channel);
+        this.timeout = options.timeout();
+    }
+
+    @Override
+    public long create(long cycle) throws Exception {
+        CreateReservationRequest request = unary.parse(Operation.CREATE, 0, cycle, CreateReservationRequest.newBuilder());
+        return send(BookingCommand.newBuilder().setCreate(request)).getReservationId();
+    }
+
+    @Override
+    public void get(long id) throws Exception {
+        unary.get(id);
+    }
+
+    @Override
+    public void update(long id, long cycle) throws Exception {
+        UpdateReservationRequest request = unary.parse(Operation.UPDATE, id, cycle, UpdateReservationRequest.newBuilder());
+        send(BookingCommand.newBuilder().setUpdate(request));
+    }
+
+    @Override
+    public void delete(long id) throws Exception {
+        DeleteReservationRequest request = unary.parse(Operation.DELETE, id, 0, DeleteReservationRequest.newBuilder());
+        send(BookingCommand.newBuilder().setCancel(request));
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (session != null) {
+                session.requests.onCompleted();
+                session = null;
+            }
+        }
+        unary.close();
+    }
+
+    /** Envoie une commande et attend son accusé ; un accusé en échec lève une exception. */
+    private BookingAck send(BookingCommand.Builder command) throws Exception {
+        String commandId = Long.toString(commandIds.incrementAndGet());
+        CompletableFuture<BookingAck> ack = new CompletableFuture<>();
+        Session current;
+        // Les écritures sur un flux ne sont pas thread-safe
+        synchronized (this) {
+            if (session == null) {
+                session = new Session();
+            }
+            current = session;
+            current.pending.put(commandId, ack);
+            current.requests.onNext(command.setCommandId(commandId).build());
+        }
+        try {
+            BookingAck result = ack.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (!result.getSuccess()) {
+                throw new IllegalStateException(result.getStatus() + ": " + result.getError());
+            }
+            return result;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } finally {
+            current.pending.remove(commandId);
+        }
+    }
+
+    /**
+     * Un flux ouvert et les accusés qu'il doit encore recevoir. Un flux fermé par le serveur fait
+     * échouer ses commandes en attente ; la commande suivante en ouvre un autre.
+     */
+    private final class Session implements StreamObserver<BookingAck> {
+        private final Map<String, CompletableFuture<BookingAck>> pending = new ConcurrentHashMap<>();
+        private final StreamObserver<BookingCommand> requests = asyncStub.bookReservations(this);
+
+        @Override
+        public void onNext(BookingAck ack) {
+            CompletableFuture<BookingAck> future = pending.get(ack.getCommandId());
+            if (future != null) {
+                future.complete(ack);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            close(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            close(new IllegalStateException("Flux BookReservations fermé par le serveur"));
+        }
+
+        private void close(Throwable cause) {
+            synchronized (GrpcStreamClient.this) {
+                if (session == this) {
+                    session = null;
+                }
+            }
+            pending.values().forEach(future -> future.completeExceptionally(cause));
+        }
+    }
+}
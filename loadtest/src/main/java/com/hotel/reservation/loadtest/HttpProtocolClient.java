@@ -0,0 +1,90 @@
+package com.hotel.reservation.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Client des protocoles sur HTTP/1.1 (REST, SOAP, GraphQL) : rend la requête de la collection et
+ * l'envoie par un HttpClient partagé, qui garde ses connexions ouvertes entre les requêtes.
+ */
+abstract class HttpProtocolClient implements ProtocolClient {
+    private final HttpClient httpClient;
+    private final Workload workload;
+    private final Protocol protocol;
+    private final String baseUrl;
+    private final String contentType;
+    private final Duration timeout;
+    private final long daysPerCycle;
+
+    HttpProtocolClient(Protocol protocol, String contentType, Workload workload, LoadTestOptions options) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.timeout())
+                .build();
+        this.workload = workload;
+        this.protocol = protocol;
+        this.baseUrl = options.baseUrl();
+        this.contentType = contentType;
+        this.timeout = options.timeout();
+        this.daysPerCycle = workload.daysPerCycle(protocol);
+    }
+
+    @Override
+    public long create(long cycle) throws IOException, InterruptedException {
+        return extractId(send(Operation.CREATE, 0, cycle));
+    }
+
+    @Override
+    public void get(long id) throws IOException, InterruptedException {
+        send(Operation.GET, id, 0);
+    }
+
+    @Override
+    public void update(long id, long cycle) throws IOException, InterruptedException {
+        send(Operation.UPDATE, id, cycle);
+    }
+
+    @Override
+    public void delete(long id) throws IOException, InterruptedException {
+        send(Operation.DELETE, id, 0);
+    }
+
+    @Override
+    public void close() {
+        // HttpClient (Java 17) n'a pas de close : ses connexions se ferment avec leur délai d'inactivité
+    }
+
+    /** Vérifie la réponse d'une requête, qui lève une exception si c'est une erreur. */
+    protected void check(Operation operation, HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + " " + abbreviate(response.body()));
+        }
+    }
+
+    /** Id de la réservation dans la réponse d'une création. */
+    protected abstract long extractId(String body);
+
+    private String send(Operation operation, long reservationId, long cycle) throws IOException, InterruptedException {
+        Workload.Request request = workload.request(protocol, operation);
+        long dayOffset = cycle * daysPerCycle;
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + request.path().render(reservationId, dayOffset)))
+                .timeout(timeout);
+        if (request.body() != null) {
+            builder.header("Content-Type", contentType)
+                    .method(request.method(), HttpRequest.BodyPublishers.ofString(request.body().render(reservationId, dayOffset)));
+        } else {
+            builder.method(request.method(), HttpRequest.BodyPublishers.noBody());
+        }
+        HttpResponse<String> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        check(operation, response);
+        return response.body();
+    }
+
+    static String abbreviate(String text) {
+        return text == null || text.length() <= 200 ? text : text.substring(0, 200) + "...";
+    }
+}
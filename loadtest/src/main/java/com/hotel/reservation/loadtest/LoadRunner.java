@@ -0,0 +1,157 @@
+package com.hotel.reservation.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Exécute des cycles create → get → update → delete sur un protocole : une phase de chauffe dont
+ * les résultats sont ignorés, puis la phase mesurée.
+ * <p>
+ * En boucle ouverte, la latence de la création est comptée depuis l'instant où le cycle devait
+ * démarrer, pas depuis son envoi : l'attente d'un client libre quand le serveur ne suit plus le
+ * débit demandé fait partie de la latence mesurée (pas d'omission coordonnée).
+ */
+final class LoadRunner {
+    private final Protocol protocol;
+    private final ProtocolClient client;
+    private final LoadTestOptions options;
+    // Numéro de cycle, continu d'une phase à l'autre : décale les dates des séjours
+    private final AtomicLong cycles = new AtomicLong();
+
+    LoadRunner(Protocol protocol, ProtocolClient client, LoadTestOptions options) {
+        this.protocol = protocol;
+        this.client = client;
+        this.options = options;
+    }
+
+    LoadTestReport.ProtocolResult run() throws InterruptedException {
+        if (!options.warmup().isZero()) {
+            runPhase(options.warmup());
+        }
+        return runPhase(options.duration()).toResult(protocol);
+    }
+
+    private Phase runPhase(Duration duration) throws InterruptedException {
+        Phase phase = new Phase();
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency(), threadFactory());
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        if (options.mode() == LoadTestOptions.Mode.CLOSED) {
+            for (int i = 0; i < options.concurrency(); i++) {
+                workers.execute(() -> {
+                    while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                        runCycle(phase, System.nanoTime());
+                    }
+                });
+            }
+        } else {
+            long period = (long) (TimeUnit.SECONDS.toNanos(1) / options.rate());
+            for (long intended = start; intended < end; intended += period) {
+                long wait;
+                while ((wait = intended - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                long intendedStart = intended;
+                workers.execute(() -> runCycle(phase, intendedStart));
+            }
+        }
+        workers.shutdown();
+        // Cycles en cours ou en file : au-delà de ce délai, le serveur est saturé et les cycles restants sont abandonnés
+        if (!workers.awaitTermination(duration.plus(options.timeout().multipliedBy(4)).toMillis(), TimeUnit.MILLISECONDS)) {
+            phase.dropped = workers.shutdownNow().size();
+            workers.awaitTermination(options.timeout().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        phase.elapsedNanos = System.nanoTime() - start;
+        return phase;
+    }
+
+    private void runCycle(Phase phase, long intendedStart) {
+        long cycle = cycles.getAndIncrement();
+        long id = call(phase, Operation.CREATE, intendedStart, () -> client.create(cycle));
+        if (id < 0) {
+            phase.failedCycles.increment();
+            return;
+        }
+        boolean succeeded = call(phase, Operation.GET, System.nanoTime(), () -> {
+            client.get(id);
+            return 0;
+        }) >= 0;
+        succeeded &= call(phase, Operation.UPDATE, System.nanoTime(), () -> {
+            client.update(id, cycle);
+            return 0;
+        }) >= 0;
+        // Tentée même après un échec, pour ne pas laisser la réservation occuper la chambre
+        succeeded &= call(phase, Operation.DELETE, System.nanoTime(), () -> {
+            client.delete(id);
+            return 0;
+        }) >= 0;
+        (succeeded ? phase.completedCycles : phase.failedCycles).increment();
+    }
+
+    /** Exécute un appel et enregistre sa latence depuis start ; renvoie -1 en cas d'erreur. */
+    private static long call(Phase phase, Operation operation, long start, Call call) {
+        OperationStats stats = phase.stats.get(operation);
+        try {
+            long result = call.run();
+            stats.recordSuccess(System.nanoTime() - start);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stats.recordError(e);
+        } catch (Exception e) {
+            stats.recordError(e);
+        }
+        return -1;
+    }
+
+    private ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "loadtest-" + protocol.key() + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        long run() throws Exception;
+    }
+
+    private static final class Phase {
+        private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        private final LongAdder completedCycles = new LongAdder();
+        private final LongAdder failedCycles = new LongAdder();
+        private volatile long dropped;
+        private long elapsedNanos;
+
+        Phase() {
+            for (Operation operation : Operation.values()) {
+                stats.put(operation, new OperationStats());
+            }
+        }
+
+        LoadTestReport.ProtocolResult toResult(Protocol protocol) {
+            double elapsedSeconds = elapsedNanos / 1e9;
+            Map<String, LoadTestReport.OperationResult> operations = new LinkedHashMap<>();
+            long succeeded = 0;
+            for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+                operations.put(entry.getKey().key(), entry.getValue().toResult(elapsedSeconds));
+                succeeded += entry.getValue().count();
+            }
+            return new LoadTestReport.ProtocolResult(protocol.key(), elapsedSeconds, completedCycles.sum(),
+                    failedCycles.sum(), dropped, completedCycles.sum() / elapsedSeconds, succeeded / elapsedSeconds,
+                    operations);
+        }
+    }
+}
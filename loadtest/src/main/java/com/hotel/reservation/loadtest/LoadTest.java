@@ -0,0 +1,73 @@
+package com.hotel.reservation.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test de charge comparé des quatre protocoles contre une instance démarrée de l'API : les
+ * protocoles sont mesurés l'un après l'autre avec les mêmes cycles create → get → update → delete,
+ * repris des collections du dépôt, et les résultats sont écrits dans un rapport JSON.
+ * <pre>
+ * java -jar target/reservation-api-1.0.0.jar &amp;
+ * java -jar loadtest/target/loadtest.jar --mode=open --rate=50 --duration=60
+ * java -jar loadtest/target/loadtest.jar --protocols=grpc,grpc-stream --concurrency=32
+ * </pre>
+ * La seconde commande compare, à charge égale, les écritures gRPC unaires à celles du flux
+ * BookReservations (voir {@link GrpcStreamClient}).
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        Workload workload = Workload.load(options.collections());
+        String startedAt = Instant.now().toString();
+
+        List<LoadTestReport.ProtocolResult> results = new ArrayList<>();
+        for (Protocol protocol : options.protocols()) {
+            System.out.printf("%s : %ds de chauffe, %ds de mesure (%s)%n", protocol.key(), options.warmup().toSeconds(),
+                    options.duration().toSeconds(), options.mode() == LoadTestOptions.Mode.OPEN
+                            ? options.rate() + " cycles/s" : options.concurrency() + " clients");
+            try (ProtocolClient client = protocol.newClient(workload, options)) {
+                LoadTestReport.ProtocolResult result = new LoadRunner(protocol, client, options).run();
+                results.add(result);
+                print(result);
+            }
+        }
+
+        LoadTestReport report = new LoadTestReport(startedAt, options.mode().name().toLowerCase(), options.rate(),
+                options.concurrency(), options.warmup().toSeconds(), options.duration().toSeconds(),
+                options.baseUrl(), options.grpcTarget(), results);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(options.report().toFile(), report);
+        System.out.println("Rapport : " + options.report().toAbsolutePath());
+    }
+
+    private static void print(LoadTestReport.ProtocolResult result) {
+        System.out.printf("  %.1f cycles/s, %.1f op/s, %d cycles en échec, %d abandonnés%n",
+                result.cyclesPerSecond(), result.operationsPerSecond(), result.failedCycles(), result.droppedCycles());
+        System.out.printf("  %-7s %9s %7s %9s %9s %9s %9s%n", "op", "count", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<String, LoadTestReport.OperationResult> entry : result.operations().entrySet()) {
+            LoadTestReport.OperationResult operation = entry.getValue();
+            System.out.printf("  %-7s %9d %7d %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(), operation.count(),
+                    operation.errors(), operation.p50Millis(), operation.p99Millis(), operation.p999Millis(),
+                    operation.maxMillis());
+            if (operation.firstError() != null) {
+                System.out.println("          première erreur : " + operation.firstError());
+            }
+        }
+    }
+}
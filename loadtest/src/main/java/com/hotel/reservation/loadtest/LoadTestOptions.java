@@ -0,0 +1,80 @@
+package com.hotel.reservation.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Options de la ligne de commande, au format --nom=valeur.
+ *
+ * @param mode        CLOSED : concurrency clients enchaînent les cycles sans pause ;
+ *                    OPEN : un cycle démarre tous les 1/rate s, qu'il y ait ou non des cycles en cours
+ * @param rate        cycles par seconde en mode OPEN
+ * @param concurrency clients en mode CLOSED, cycles exécutés en parallèle au plus en mode OPEN
+ */
+public record LoadTestOptions(List<Protocol> protocols, Mode mode, double rate, int concurrency,
+                              Duration warmup, Duration duration, Duration timeout,
+                              String baseUrl, String grpcTarget, Path collections, Path report) {
+
+    public enum Mode {
+        OPEN, CLOSED
+    }
+
+    public static final String USAGE = """
+            Usage : java -jar loadtest.jar [options]
+              --protocols=rest,soap,graphql,grpc  protocoles mesurés, l'un après l'autre (défaut : les quatre) ;
+                                                  grpc-stream : écritures par le flux BookReservations
+              --mode=closed|open                  boucle fermée ou débit constant (défaut : closed)
+              --concurrency=16                    clients (closed) ou cycles simultanés au plus (open)
+              --rate=100                          cycles create/get/update/delete par seconde (open)
+              --warmup=10                         secondes de chauffe par protocole, non mesurées
+              --duration=30                       secondes de mesure par protocole
+              --timeout=10                        délai d'une requête, en secondes
+              --base-url=http://localhost:8080    REST, SOAP et GraphQL
+              --grpc-target=localhost:9090        gRPC
+              --collections=.                     répertoire des collections Postman et du projet SoapUI
+              --report=loadtest-report.json       rapport JSON
+            """;
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Option invalide : " + arg);
+            }
+            values.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+
+        List<Protocol> protocols = new ArrayList<>();
+        for (String protocol : values.getOrDefault("protocols", "rest,soap,graphql,grpc").split(",")) {
+            protocols.add(Protocol.fromKey(protocol));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                List.copyOf(protocols),
+                Mode.valueOf(values.getOrDefault("mode", "closed").toUpperCase(Locale.ROOT)),
+                Double.parseDouble(values.getOrDefault("rate", "100")),
+                Integer.parseInt(values.getOrDefault("concurrency", "16")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "30"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("timeout", "10"))),
+                values.getOrDefault("base-url", "http://localhost:8080"),
+                values.getOrDefault("grpc-target", "localhost:9090"),
+                Path.of(values.getOrDefault("collections", ".")),
+                Path.of(values.getOrDefault("report", "loadtest-report.json")));
+
+        values.keySet().removeAll(List.of("protocols", "mode", "rate", "concurrency", "warmup", "duration",
+                "timeout", "base-url", "grpc-target", "collections", "report"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Option inconnue : --" + values.keySet().iterator().next());
+        }
+        if (options.concurrency() <= 0 || options.rate() <= 0 || options.duration().isZero()) {
+            throw new IllegalArgumentException("concurrency, rate et duration doivent être positifs");
+        }
+        return options;
+    }
+}
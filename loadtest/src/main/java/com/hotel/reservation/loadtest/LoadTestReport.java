@@ -0,0 +1,25 @@
+package com.hotel.reservation.loadtest;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rapport écrit en JSON à la fin du test ; les latences sont en millisecondes.
+ */
+public record LoadTestReport(String startedAt, String mode, double rate, int concurrency, long warmupSeconds,
+                             long durationSeconds, String baseUrl, String grpcTarget, List<ProtocolResult> protocols) {
+
+    /**
+     * Résultats d'un protocole. Un cycle est réussi si ses quatre opérations le sont ; les cycles
+     * abandonnés sont ceux d'un test en boucle ouverte encore en file à la fin du délai d'attente.
+     */
+    public record ProtocolResult(String protocol, double elapsedSeconds, long cycles, long failedCycles,
+                                 long droppedCycles, double cyclesPerSecond, double operationsPerSecond,
+                                 Map<String, OperationResult> operations) {
+    }
+
+    public record OperationResult(long count, long errors, String firstError, double operationsPerSecond,
+                                  double meanMillis, double p50Millis, double p99Millis, double p999Millis,
+                                  double maxMillis) {
+    }
+}
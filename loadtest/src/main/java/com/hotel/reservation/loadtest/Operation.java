@@ -0,0 +1,28 @@
+package com.hotel.reservation.loadtest;
+
+import java.util.Locale;
+
+/**
+ * Opérations d'un cycle de charge, dans l'ordre où elles sont enchaînées sur une même réservation.
+ */
+public enum Operation {
+    CREATE, GET, UPDATE, DELETE;
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Opération désignée par un nom de requête des collections (createReservation, GetReservation...),
+     * ou null si le nom n'en désigne aucune.
+     */
+    public static Operation fromRequestName(String name) {
+        String normalized = name.toLowerCase(Locale.ROOT);
+        for (Operation operation : values()) {
+            if (normalized.startsWith(operation.key() + "reservation")) {
+                return operation;
+            }
+        }
+        return null;
+    }
+}
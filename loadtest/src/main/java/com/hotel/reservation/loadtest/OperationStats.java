@@ -0,0 +1,47 @@
+package com.hotel.reservation.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latences (microsecondes, 3 chiffres significatifs) et erreurs d'une opération pendant une phase.
+ * Seules les réponses réussies entrent dans l'histogramme.
+ */
+final class OperationStats {
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+    private final AtomicReference<String> firstError = new AtomicReference<>();
+
+    void recordSuccess(long latencyNanos) {
+        latencies.recordValue(Math.max(1, latencyNanos / 1000));
+    }
+
+    void recordError(Exception e) {
+        errors.increment();
+        firstError.compareAndSet(null, e.getClass().getSimpleName() + ": " + e.getMessage());
+    }
+
+    long count() {
+        return latencies.getTotalCount();
+    }
+
+    LoadTestReport.OperationResult toResult(double elapsedSeconds) {
+        return new LoadTestReport.OperationResult(
+                latencies.getTotalCount(),
+                errors.sum(),
+                firstError.get(),
+                latencies.getTotalCount() / elapsedSeconds,
+                latencies.getTotalCount() == 0 ? 0 : latencies.getMean() / 1000,
+                millis(latencies.getValueAtPercentile(50)),
+                millis(latencies.getValueAtPercentile(99)),
+                millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
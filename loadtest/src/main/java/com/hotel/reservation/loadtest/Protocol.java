@@ -0,0 +1,29 @@
+package com.hotel.reservation.loadtest;
+
+import java.util.Locale;
+
+/**
+ * Les quatre points d'entrée de l'API. GRPC_STREAM (grpc-stream) reprend les requêtes gRPC mais
+ * écrit par le flux BookReservations, pour comparer flux et appels unaires.
+ */
+public enum Protocol {
+    REST, SOAP, GRAPHQL, GRPC, GRPC_STREAM;
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    public ProtocolClient newClient(Workload workload, LoadTestOptions options) {
+        return switch (this) {
+            case REST -> new RestClient(workload, options);
+            case SOAP -> new SoapClient(workload, options);
+            case GRAPHQL -> new GraphQLClient(workload, options);
+            case GRPC -> new GrpcClient(workload, options);
+            case GRPC_STREAM -> new GrpcStreamClient(workload, options);
+        };
+    }
+
+    public static Protocol fromKey(String key) {
+        return valueOf(key.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
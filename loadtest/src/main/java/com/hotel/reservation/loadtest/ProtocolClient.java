@@ -0,0 +1,24 @@
+package com.hotel.reservation.loadtest;
+
+/**
+ * Envoie les requêtes d'un cycle par un protocole. Les méthodes sont appelées par plusieurs threads
+ * à la fois ; une réponse d'erreur (statut HTTP, faute SOAP, erreurs GraphQL, statut gRPC) lève une
+ * exception.
+ * <p>
+ * Le numéro de cycle décale les dates des requêtes (voir {@link Workload#daysPerCycle(Protocol)}) :
+ * deux cycles ne réservent jamais la même chambre sur des nuits communes.
+ */
+public interface ProtocolClient extends AutoCloseable {
+
+    /** Crée une réservation et renvoie son id. */
+    long create(long cycle) throws Exception;
+
+    void get(long id) throws Exception;
+
+    void update(long id, long cycle) throws Exception;
+
+    void delete(long id) throws Exception;
+
+    @Override
+    void close();
+}
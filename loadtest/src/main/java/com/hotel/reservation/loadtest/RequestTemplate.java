@@ -0,0 +1,86 @@
+package com.hotel.reservation.loadtest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Texte d'une requête des collections (chemin ou corps) dont on remplace, à chaque envoi :
+ * <ul>
+ *     <li>la variable Postman {{reservationId}} par l'id de la réservation du cycle ;</li>
+ *     <li>chaque date ISO (yyyy-MM-dd) par la même date décalée de dayOffset jours.</li>
+ * </ul>
+ * Le texte est découpé une fois pour toutes à la création.
+ */
+public final class RequestTemplate {
+    public static final String RESERVATION_ID = "{{reservationId}}";
+
+    private static final Pattern PLACEHOLDERS = Pattern.compile(Pattern.quote(RESERVATION_ID) + "|\\b(\\d{4}-\\d{2}-\\d{2})\\b");
+
+    private final List<Part> parts;
+    private final List<LocalDate> dates;
+    private final int sizeHint;
+
+    private RequestTemplate(List<Part> parts, List<LocalDate> dates, int sizeHint) {
+        this.parts = parts;
+        this.dates = dates;
+        this.sizeHint = sizeHint;
+    }
+
+    public static RequestTemplate compile(String text) {
+        List<Part> parts = new ArrayList<>();
+        List<LocalDate> dates = new ArrayList<>();
+        Matcher matcher = PLACEHOLDERS.matcher(text);
+        int last = 0;
+        while (matcher.find()) {
+            if (matcher.start() > last) {
+                parts.add(new Literal(text.substring(last, matcher.start())));
+            }
+            if (matcher.group(1) != null) {
+                LocalDate date = LocalDate.parse(matcher.group(1));
+                dates.add(date);
+                parts.add(new ShiftedDate(date));
+            } else {
+                parts.add(new ReservationId());
+            }
+            last = matcher.end();
+        }
+        if (last < text.length()) {
+            parts.add(new Literal(text.substring(last)));
+        }
+        return new RequestTemplate(List.copyOf(parts), List.copyOf(dates), text.length() + 16);
+    }
+
+    public String render(long reservationId, long dayOffset) {
+        StringBuilder out = new StringBuilder(sizeHint);
+        for (Part part : parts) {
+            if (part instanceof Literal literal) {
+                out.append(literal.text());
+            } else if (part instanceof ShiftedDate date) {
+                out.append(date.date().plusDays(dayOffset));
+            } else {
+                out.append(reservationId);
+            }
+        }
+        return out.toString();
+    }
+
+    /** Dates du texte d'origine, avant décalage. */
+    public List<LocalDate> dates() {
+        return dates;
+    }
+
+    private sealed interface Part permits Literal, ShiftedDate, ReservationId {
+    }
+
+    private record Literal(String text) implements Part {
+    }
+
+    private record ShiftedDate(LocalDate date) implements Part {
+    }
+
+    private record ReservationId() implements Part {
+    }
+}
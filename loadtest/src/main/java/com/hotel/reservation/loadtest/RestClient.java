@@ -0,0 +1,26 @@
+package com.hotel.reservation.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+
+/**
+ * Client REST (/api/reservations) : l'id créé est celui de l'entité renvoyée.
+ */
+class RestClient extends HttpProtocolClient {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    RestClient(Workload workload, LoadTestOptions options) {
+        super(Protocol.REST, "application/json", workload, options);
+    }
+
+    @Override
+    protected long extractId(String body) {
+        try {
+            return MAPPER.readTree(body).path("id").asLong();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.hotel.reservation.loadtest;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Client SOAP (/soap) : une faute SOAP est renvoyée en HTTP 500 et compte comme une erreur.
+ */
+class SoapClient extends HttpProtocolClient {
+    private static final Pattern ID = Pattern.compile("<(?:\\w+:)?id>(\\d+)</");
+
+    SoapClient(Workload workload, LoadTestOptions options) {
+        super(Protocol.SOAP, "text/xml; charset=utf-8", workload, options);
+    }
+
+    @Override
+    protected long extractId(String body) {
+        Matcher id = ID.matcher(body);
+        if (!id.find()) {
+            throw new IllegalStateException("Pas d'id dans la réponse SOAP " + abbreviate(body));
+        }
+        return Long.parseLong(id.group(1));
+    }
+}
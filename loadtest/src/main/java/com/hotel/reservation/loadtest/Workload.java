@@ -0,0 +1,200 @@
+package com.hotel.reservation.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Requêtes create/get/update/delete de chaque protocole, reprises des collections Postman et du
+ * projet SoapUI de la racine du dépôt : la charge envoie les mêmes corps que les tests manuels.
+ * L'id d'exemple des collections est remplacé par {{reservationId}} (voir {@link RequestTemplate}).
+ */
+public final class Workload {
+    public static final String REST_COLLECTION = "Hotel_Reservation_API.postman_collection.json";
+    public static final String GRAPHQL_COLLECTION = "Hotel_Reservation_GraphQL.postman_collection.json";
+    public static final String GRPC_COLLECTION = "Hotel_Reservation_gRPC.postman_collection.json";
+    public static final String SOAP_PROJECT = "Hotel_Reservation_SOAP_Project.xml";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern GRAPHQL_ROOT_FIELD = Pattern.compile("\\{\\s*(\\w+)");
+    private static final Pattern SOAP_ENDPOINT = Pattern.compile("<con:endpoint>([^<]+)</con:endpoint>");
+    private static final Pattern SOAP_REQUEST = Pattern.compile("<!\\[CDATA\\[(.*?)]]>", Pattern.DOTALL);
+    private static final Pattern SOAP_OPERATION = Pattern.compile("<(?:\\w+:)?(\\w+)Request[\\s>]");
+    private static final Pattern SOAP_ID = Pattern.compile("(<(?:\\w+:)?id>)\\s*\\d+\\s*(</(?:\\w+:)?id>)");
+
+    /**
+     * Une requête : méthode HTTP, chemin relatif à l'URL de base (nom complet de la méthode pour
+     * gRPC) et corps, absent pour GET et DELETE en REST.
+     */
+    public record Request(String method, RequestTemplate path, RequestTemplate body) {
+    }
+
+    private final Map<Protocol, Map<Operation, Request>> requests;
+
+    private Workload(Map<Protocol, Map<Operation, Request>> requests) {
+        this.requests = requests;
+    }
+
+    public static Workload load(Path directory) throws IOException {
+        Map<Protocol, Map<Operation, Request>> requests = new EnumMap<>(Protocol.class);
+        requests.put(Protocol.REST, loadRest(directory.resolve(REST_COLLECTION)));
+        requests.put(Protocol.GRAPHQL, loadGraphQL(directory.resolve(GRAPHQL_COLLECTION)));
+        requests.put(Protocol.GRPC, loadGrpc(directory.resolve(GRPC_COLLECTION)));
+        requests.put(Protocol.SOAP, loadSoap(directory.resolve(SOAP_PROJECT)));
+        for (Map.Entry<Protocol, Map<Operation, Request>> entry : requests.entrySet()) {
+            for (Operation operation : Operation.values()) {
+                if (!entry.getValue().containsKey(operation)) {
+                    throw new IllegalStateException("Aucune requête " + operation.key() + " " + entry.getKey().key()
+                            + " dans " + directory.toAbsolutePath());
+                }
+            }
+        }
+        return new Workload(requests);
+    }
+
+    public Request request(Protocol protocol, Operation operation) {
+        return requests.get(protocol).get(operation);
+    }
+
+    /**
+     * Décalage en jours entre deux cycles consécutifs : l'étendue des dates des requêtes du protocole,
+     * pour que les séjours de deux cycles ne se chevauchent pas (la collection REST réserve toujours
+     * les mêmes chambres).
+     */
+    public long daysPerCycle(Protocol protocol) {
+        LocalDate min = null;
+        LocalDate max = null;
+        for (Request request : requests.get(protocol).values()) {
+            if (request.body() == null) {
+                continue;
+            }
+            for (LocalDate date : request.body().dates()) {
+                min = min == null || date.isBefore(min) ? date : min;
+                max = max == null || date.isAfter(max) ? date : max;
+            }
+        }
+        return min == null ? 1 : ChronoUnit.DAYS.between(min, max) + 1;
+    }
+
+    // Collection REST : opération déduite de la méthode et de la présence de {{reservationId}} dans l'URL
+    private static Map<Operation, Request> loadRest(Path file) throws IOException {
+        Map<Operation, Request> requests = new EnumMap<>(Operation.class);
+        for (JsonNode request : postmanRequests(file)) {
+            String url = request.path("url").path("raw").asText();
+            if (!url.contains("/api/reservations")) {
+                continue;
+            }
+            String method = request.path("method").asText();
+            boolean byId = url.contains(RequestTemplate.RESERVATION_ID);
+            Operation operation = switch (method) {
+                case "POST" -> byId ? null : Operation.CREATE;
+                case "GET" -> byId ? Operation.GET : null;
+                case "PUT" -> Operation.UPDATE;
+                case "DELETE" -> Operation.DELETE;
+                default -> null;
+            };
+            if (operation != null) {
+                String body = request.path("body").path("raw").asText(null);
+                requests.putIfAbsent(operation, new Request(method,
+                        RequestTemplate.compile(url.replace("{{baseUrl}}", "")),
+                        body != null ? RequestTemplate.compile(body) : null));
+            }
+        }
+        return requests;
+    }
+
+    // Collection GraphQL : opération déduite du premier champ de la requête (createReservation...)
+    private static Map<Operation, Request> loadGraphQL(Path file) throws IOException {
+        Map<Operation, Request> requests = new EnumMap<>(Operation.class);
+        for (JsonNode request : postmanRequests(file)) {
+            JsonNode graphql = request.path("body").path("graphql");
+            Matcher rootField = GRAPHQL_ROOT_FIELD.matcher(graphql.path("query").asText());
+            Operation operation = rootField.find() ? Operation.fromRequestName(rootField.group(1)) : null;
+            if (operation == null) {
+                continue;
+            }
+            ObjectNode body = MAPPER.createObjectNode();
+            body.put("query", graphql.path("query").asText());
+            String variables = graphql.path("variables").asText();
+            body.set("variables", withReservationId(variables.isBlank() ? MAPPER.createObjectNode() : MAPPER.readTree(variables)));
+            requests.putIfAbsent(operation, new Request("POST", RequestTemplate.compile("/graphql"),
+                    RequestTemplate.compile(MAPPER.writeValueAsString(body))));
+        }
+        return requests;
+    }
+
+    // Collection gRPC : opération déduite du nom de la méthode (dernier segment de l'URL)
+    private static Map<Operation, Request> loadGrpc(Path file) throws IOException {
+        Map<Operation, Request> requests = new EnumMap<>(Operation.class);
+        for (JsonNode request : postmanRequests(file)) {
+            String url = request.path("url").path("raw").asText();
+            Operation operation = Operation.fromRequestName(url.substring(url.lastIndexOf('/') + 1));
+            if (operation == null) {
+                continue;
+            }
+            JsonNode body = withReservationId(MAPPER.readTree(request.path("body").path("raw").asText("{}")));
+            requests.putIfAbsent(operation, new Request("POST",
+                    RequestTemplate.compile(url.substring(url.indexOf('/', "grpc://".length()) + 1)),
+                    RequestTemplate.compile(MAPPER.writeValueAsString(body))));
+        }
+        return requests;
+    }
+
+    // Projet SoapUI : enveloppes des requêtes, opération déduite de l'élément racine du corps
+    private static Map<Operation, Request> loadSoap(Path file) throws IOException {
+        String project = Files.readString(file, StandardCharsets.UTF_8);
+        Matcher endpoint = SOAP_ENDPOINT.matcher(project);
+        String path = endpoint.find() ? URI.create(endpoint.group(1).trim()).getPath() : "/soap";
+        Map<Operation, Request> requests = new EnumMap<>(Operation.class);
+        Matcher request = SOAP_REQUEST.matcher(project);
+        while (request.find()) {
+            String envelope = request.group(1);
+            Matcher element = SOAP_OPERATION.matcher(envelope);
+            Operation operation = element.find() ? Operation.fromRequestName(element.group(1)) : null;
+            if (operation != null) {
+                String body = SOAP_ID.matcher(envelope).replaceFirst("$1" + Matcher.quoteReplacement(RequestTemplate.RESERVATION_ID) + "$2");
+                requests.putIfAbsent(operation, new Request("POST", RequestTemplate.compile(path), RequestTemplate.compile(body)));
+            }
+        }
+        return requests;
+    }
+
+    private static List<JsonNode> postmanRequests(Path file) throws IOException {
+        List<JsonNode> requests = new ArrayList<>();
+        collectRequests(MAPPER.readTree(file.toFile()).path("item"), requests);
+        return requests;
+    }
+
+    // Les dossiers Postman imbriquent des "item" ; les feuilles portent la "request"
+    private static void collectRequests(JsonNode items, List<JsonNode> requests) {
+        for (JsonNode item : items) {
+            if (item.has("item")) {
+                collectRequests(item.path("item"), requests);
+            } else if (item.has("request")) {
+                requests.add(item.path("request"));
+            }
+        }
+    }
+
+    // Un id de premier niveau désigne la réservation du cycle (les ids imbriqués : client, chambre)
+    private static JsonNode withReservationId(JsonNode node) {
+        if (node instanceof ObjectNode object && object.has("id")) {
+            object.put("id", RequestTemplate.RESERVATION_ID);
+        }
+        return node;
+    }
+}
@@ -4,6 +4,7 @@ import com.hotel.reservation.entity.Chambre;
 import com.hotel.reservation.entity.Client;
 import com.hotel.reservation.repository.ChambreRepository;
 import com.hotel.reservation.repository.ClientRepository;
+import com.hotel.reservation.service.ChambreService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -16,6 +17,7 @@ public class DataInitializer implements CommandLineRunner {
     
     private final ClientRepository clientRepository;
     private final ChambreRepository chambreRepository;
+    private final ChambreService chambreService;
     
     @Override
     public void run(String... args) throws Exception {
@@ -45,19 +47,19 @@ public class DataInitializer implements CommandLineRunner {
             chambre1.setType("Standard");
             chambre1.setPrix(100.0);
             chambre1.setDisponible(true);
-            chambreRepository.save(chambre1);
+            chambreService.createChambre(chambre1);
             
             Chambre chambre2 = new Chambre();
             chambre2.setType("Deluxe");
             chambre2.setPrix(200.0);
             chambre2.setDisponible(true);
-            chambreRepository.save(chambre2);
+            chambreService.createChambre(chambre2);
             
             Chambre chambre3 = new Chambre();
             chambre3.setType("Suite");
             chambre3.setPrix(350.0);
             chambre3.setDisponible(true);
-            chambreRepository.save(chambre3);
+            chambreService.createChambre(chambre3);
             
             log.info("Chambres créées : {}", chambreRepository.count());
             log.info("Initialisation terminée !");
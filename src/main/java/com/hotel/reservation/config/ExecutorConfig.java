@@ -0,0 +1,126 @@
+package com.hotel.reservation.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Exécuteurs de l'application. Avec reservation.threads.virtual=true (profil « virtual ») et sur
+ * Java 21+, Tomcat (REST, SOAP, GraphQL), les appels gRPC, les champs GraphQL asynchrones, les lots
+ * BookReservations et les tâches asynchrones utilisent un thread virtuel par tâche ; la concurrence
+ * n'est alors plus bornée par la taille des pools mais par GrpcExecutionInterceptor et le pool JDBC.
+ */
+@Slf4j
+@Configuration
+public class ExecutorConfig {
+    private final boolean virtualThreads;
+
+    public ExecutorConfig(@Value("${reservation.threads.virtual:false}") boolean virtualThreads) {
+        if (virtualThreads && !VirtualThreads.isAvailable()) {
+            log.warn("reservation.threads.virtual ignoré : threads virtuels indisponibles en Java {}, pools classiques conservés",
+                    Runtime.version().feature());
+        }
+        this.virtualThreads = virtualThreads && VirtualThreads.isAvailable();
+        if (this.virtualThreads) {
+            log.info("Mode threads virtuels : Tomcat, gRPC, GraphQL et tâches asynchrones");
+        }
+    }
+
+    /**
+     * Un thread virtuel par requête HTTP à la place du pool de Tomcat (server.tomcat.threads.*).
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (virtualThreads) {
+                protocolHandler.setExecutor(VirtualThreads.newExecutor("tomcat-"));
+            }
+        };
+    }
+
+    /**
+     * Spring Boot ne crée plus son exécuteur par défaut dès qu'un autre Executor est déclaré :
+     * on le redéclare à l'identique (requêtes asynchrones MVC, export NDJSON).
+     */
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return virtualThreads ? virtual("task-") : builder.build();
+    }
+
+    /**
+     * Traitement des lots du flux gRPC BookReservations, hors des threads de l'exécuteur gRPC.
+     */
+    @Bean
+    public AsyncTaskExecutor bookingExecutor(@Value("${reservation.grpc.booking.threads:4}") int threads) {
+        if (virtualThreads) {
+            return virtual("grpc-booking-");
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("grpc-booking-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Appels gRPC unaires et callbacks des flux (voir GrpcExecutionInterceptor). La file n'est pas
+     * bornée ici : c'est le nombre d'appels admis par l'intercepteur qui la limite.
+     */
+    @Bean
+    public AsyncTaskExecutor grpcExecutor(@Value("${reservation.grpc.executor.threads:16}") int threads) {
+        if (virtualThreads) {
+            return virtual("grpc-call-");
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("grpc-call-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Champs racines des queries GraphQL (voir AsyncQueryFieldsInstrumentation).
+     */
+    @Bean
+    public AsyncTaskExecutor graphqlExecutor(@Value("${reservation.graphql.executor.threads:8}") int threads) {
+        if (virtualThreads) {
+            return virtual("graphql-");
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("graphql-");
+        return executor;
+    }
+
+    /**
+     * Publication des captures SOAP (voir SoapPayloadCapture) : un seul thread et une file bornée,
+     * une capture refusée est perdue plutôt que de ralentir la requête.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor soapCaptureExecutor(@Value("${reservation.soap.capture.queue-capacity:1024}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("soap-capture-");
+        return executor;
+    }
+
+    private static AsyncTaskExecutor virtual(String namePrefix) {
+        return new TaskExecutorAdapter(VirtualThreads.newExecutor(namePrefix));
+    }
+}
@@ -0,0 +1,40 @@
+package com.hotel.reservation.config;
+
+import io.grpc.Context;
+import io.grpc.Deadline;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JpaTransactionManager dont le timeout est borné par le délai (deadline) de l'appel gRPC en cours.
+ * Hibernate reporte le temps restant de la transaction sur chaque requête (Statement.setQueryTimeout) :
+ * une requête lancée pour un appel dont le délai expire est interrompue par le pilote JDBC au lieu
+ * d'occuper une connexion pour une réponse que plus personne n'attend.
+ * <p>
+ * Hors d'un appel gRPC (REST, SOAP, GraphQL), le contexte n'a pas de délai et rien ne change.
+ */
+public class GrpcDeadlineTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int timeout = super.determineTimeout(definition);
+        Context context = Context.current();
+        if (context.isCancelled()) {
+            throw new TransactionTimedOutException("Appel gRPC annulé ou expiré, transaction non démarrée");
+        }
+        Deadline deadline = context.getDeadline();
+        if (deadline == null) {
+            return timeout;
+        }
+        long remainingMillis = deadline.timeRemaining(TimeUnit.MILLISECONDS);
+        if (remainingMillis <= 0) {
+            throw new TransactionTimedOutException("Appel gRPC expiré, transaction non démarrée");
+        }
+        // Le timeout JDBC est en secondes : arrondi au supérieur (0 signifierait « sans limite »)
+        int remainingSeconds = (int) Math.min(Integer.MAX_VALUE, (remainingMillis + 999) / 1000);
+        return timeout == TransactionDefinition.TIMEOUT_DEFAULT ? remainingSeconds : Math.min(timeout, remainingSeconds);
+    }
+}
@@ -0,0 +1,181 @@
+package com.hotel.reservation.config;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fait exécuter les appels gRPC sur grpcExecutor (pool borné, ou un thread virtuel par tâche en
+ * mode threads virtuels) plutôt que sur les threads du serveur, qui ne font plus que recevoir les
+ * appels et les admettre ou les refuser :
+ * <ul>
+ *     <li>un appel dont le délai (deadline) est déjà dépassé est refusé en DEADLINE_EXCEEDED ;</li>
+ *     <li>au-delà de maxConcurrentCalls appels en cours (en attente ou en exécution), il est refusé
+ *     en RESOURCE_EXHAUSTED au lieu d'allonger la file de l'exécuteur ;</li>
+ *     <li>les callbacks d'un même appel sont exécutés dans l'ordre, un à la fois ; ceux qui arrivent
+ *     après l'annulation de l'appel ne déclenchent plus de traitement.</li>
+ * </ul>
+ * Un flux (BookReservations) occupe une place pendant toute sa durée.
+ */
+@Slf4j
+public class GrpcExecutionInterceptor implements ServerInterceptor {
+    private static final ServerCall.Listener<Object> NOOP_LISTENER = new ServerCall.Listener<>() {
+    };
+
+    private final Executor executor;
+    private final Semaphore permits;
+    private final Counter rejectedExpired;
+    private final Counter rejectedOverloaded;
+    private final Counter cancelledDeadline;
+    private final Counter cancelledClient;
+
+    public GrpcExecutionInterceptor(Executor executor, int maxConcurrentCalls, MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrentCalls);
+        this.rejectedExpired = rejected(meterRegistry, "deadline");
+        this.rejectedOverloaded = rejected(meterRegistry, "overloaded");
+        this.cancelledDeadline = cancelled(meterRegistry, "deadline");
+        this.cancelledClient = cancelled(meterRegistry, "client");
+        Gauge.builder("grpc.server.calls.active", permits, p -> maxConcurrentCalls - p.availablePermits())
+                .description("Appels gRPC admis, en attente ou en cours d'exécution")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        Deadline deadline = Context.current().getDeadline();
+        if (deadline != null && deadline.isExpired()) {
+            rejectedExpired.increment();
+            call.close(Status.DEADLINE_EXCEEDED.withDescription("Délai dépassé avant le traitement de l'appel"), new Metadata());
+            return noop();
+        }
+        if (!permits.tryAcquire()) {
+            rejectedOverloaded.increment();
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription("Serveur saturé, réessayez plus tard"), new Metadata());
+            return noop();
+        }
+        return new DispatchingListener<>(call, headers, next);
+    }
+
+    /**
+     * Relaie les callbacks de l'appel vers l'exécuteur, en série, dans le contexte gRPC de l'appel.
+     * Le listener du service n'est créé (startCall) que sur l'exécuteur.
+     */
+    private final class DispatchingListener<ReqT, RespT> extends ForwardingServerCallListener<ReqT> {
+        private final ServerCall<ReqT, RespT> call;
+        private final Context context = Context.current();
+        private final Executor serialExecutor = MoreExecutors.newSequentialExecutor(executor);
+        private final AtomicBoolean released = new AtomicBoolean();
+        private ServerCall.Listener<ReqT> delegate = noop();
+
+        DispatchingListener(ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+            this.call = call;
+            dispatch(() -> delegate = next.startCall(call, headers), true);
+        }
+
+        @Override
+        protected ServerCall.Listener<ReqT> delegate() {
+            return delegate;
+        }
+
+        @Override
+        public void onMessage(ReqT message) {
+            dispatch(() -> delegate.onMessage(message), true);
+        }
+
+        @Override
+        public void onHalfClose() {
+            dispatch(() -> delegate.onHalfClose(), true);
+        }
+
+        @Override
+        public void onReady() {
+            dispatch(() -> delegate.onReady(), true);
+        }
+
+        @Override
+        public void onComplete() {
+            dispatch(() -> {
+                try {
+                    delegate.onComplete();
+                } finally {
+                    release();
+                }
+            }, false);
+        }
+
+        @Override
+        public void onCancel() {
+            Deadline deadline = context.getDeadline();
+            (deadline != null && deadline.isExpired() ? cancelledDeadline : cancelledClient).increment();
+            dispatch(() -> {
+                try {
+                    delegate.onCancel();
+                } finally {
+                    release();
+                }
+            }, false);
+        }
+
+        private void dispatch(Runnable callback, boolean skipIfCancelled) {
+            try {
+                serialExecutor.execute(context.wrap(() -> {
+                    if (skipIfCancelled && context.isCancelled()) {
+                        return;
+                    }
+                    try {
+                        callback.run();
+                    } catch (RuntimeException e) {
+                        // Ce que ferait le serveur gRPC pour une exception levée par le service
+                        log.error("Erreur non gérée dans l'appel gRPC {}", call.getMethodDescriptor().getFullMethodName(), e);
+                        call.close(Status.fromThrowable(e), new Metadata());
+                    }
+                }));
+            } catch (RuntimeException e) {
+                // Exécuteur arrêté : l'appel ne sera jamais traité
+                release();
+                throw e;
+            }
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <ReqT> ServerCall.Listener<ReqT> noop() {
+        return (ServerCall.Listener<ReqT>) NOOP_LISTENER;
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("grpc.server.calls.rejected")
+                .description("Appels gRPC refusés avant exécution")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static Counter cancelled(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("grpc.server.calls.cancelled")
+                .description("Appels gRPC annulés par le client ou par l'expiration de leur délai")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
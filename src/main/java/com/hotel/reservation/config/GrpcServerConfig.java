@@ -0,0 +1,46 @@
+package com.hotel.reservation.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+import java.util.concurrent.Executor;
+
+@Configuration
+public class GrpcServerConfig {
+
+    /**
+     * Les threads du serveur gRPC ne font qu'admettre les appels : le traitement passe sur
+     * grpcExecutor via GrpcExecutionInterceptor, un second saut d'exécuteur serait inutile.
+     */
+    @Bean
+    public GrpcServerConfigurer grpcDirectExecutorConfigurer() {
+        return serverBuilder -> serverBuilder.directExecutor();
+    }
+
+    @Bean
+    @GrpcGlobalServerInterceptor
+    public GrpcExecutionInterceptor grpcExecutionInterceptor(@Qualifier("grpcExecutor") Executor grpcExecutor,
+                                                             @Value("${reservation.grpc.executor.max-concurrent-calls:64}") int maxConcurrentCalls,
+                                                             MeterRegistry meterRegistry) {
+        return new GrpcExecutionInterceptor(grpcExecutor, maxConcurrentCalls, meterRegistry);
+    }
+
+    /**
+     * Remplace le JpaTransactionManager de Spring Boot (mêmes personnalisations) pour borner les
+     * transactions par le délai des appels gRPC.
+     */
+    @Bean
+    public JpaTransactionManager transactionManager(ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        JpaTransactionManager transactionManager = new GrpcDeadlineTransactionManager();
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+}
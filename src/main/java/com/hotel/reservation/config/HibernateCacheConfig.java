@@ -0,0 +1,68 @@
+package com.hotel.reservation.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.hotel.reservation.entity.Chambre;
+import com.hotel.reservation.entity.Client;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cache de second niveau Hibernate (JCache sur Caffeine) pour les données de référence Chambre et Client,
+ * ainsi que le cache de requêtes. Les régions sont créées ici pour que taille et durée de vie soient
+ * réglables depuis application.properties. Chaque contexte Spring a son propre gestionnaire JCache,
+ * identifié par une URI unique : le gestionnaire par défaut du fournisseur est partagé par toute la JVM,
+ * et un second contexte (tests, rafraîchissement) y retrouverait des régions déjà créées. Rien n'est
+ * créé quand le cache de second niveau est désactivé (profil shared).
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", matchIfMissing = true)
+public class HibernateCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${reservation.cache.entities.max-size:10000}") long entityMaxSize,
+            @Value("${reservation.cache.entities.ttl:PT1H}") Duration entityTtl,
+            @Value("${reservation.cache.queries.max-size:1000}") long queryMaxSize,
+            @Value("${reservation.cache.queries.ttl:PT10M}") Duration queryTtl) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("hibernate-cache:" + UUID.randomUUID()), HibernateCacheConfig.class.getClassLoader());
+        cacheManager.createCache(Chambre.class.getName(), regionConfiguration(entityMaxSize, entityTtl));
+        cacheManager.createCache(Client.class.getName(), regionConfiguration(entityMaxSize, entityTtl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                regionConfiguration(queryMaxSize, queryTtl));
+        // Horodatages des tables : ils invalident les requêtes en cache et ne doivent jamais être évincés
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>().setStoreByValue(false).setStatisticsEnabled(true));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(long maxSize, Duration ttl) {
+        return new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(maxSize))
+                .setExpireAfterWrite(OptionalLong.of(ttl.toNanos()))
+                // Hibernate met en cache des structures déjà désassemblées : pas besoin de copie
+                .setStoreByValue(false)
+                .setStatisticsEnabled(true);
+    }
+}
+
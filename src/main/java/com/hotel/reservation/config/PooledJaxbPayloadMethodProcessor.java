@@ -0,0 +1,101 @@
+package com.hotel.reservation.config;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.springframework.core.MethodParameter;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.endpoint.adapter.method.AbstractPayloadMethodProcessor;
+
+import javax.xml.transform.Source;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Équivalent de XmlRootElementPayloadMethodProcessor qui réutilise les Marshaller/Unmarshaller JAXB
+ * au lieu d'en créer un par message. Chaque classe @XmlRootElement a son JAXBContext et deux files
+ * bornées d'instances libres ; une instance est empruntée le temps d'un (dé)marshalling puis rendue,
+ * ou abandonnée si la file est pleine.
+ */
+public class PooledJaxbPayloadMethodProcessor extends AbstractPayloadMethodProcessor {
+    private final Map<Class<?>, Pool> pools = new ConcurrentHashMap<>();
+    private final int poolSize;
+
+    public PooledJaxbPayloadMethodProcessor(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    @Override
+    protected boolean supportsRequestPayloadParameter(MethodParameter parameter) {
+        return parameter.getParameterType().isAnnotationPresent(XmlRootElement.class);
+    }
+
+    @Override
+    protected boolean supportsResponsePayloadReturnType(MethodParameter returnType) {
+        return returnType.getParameterType().isAnnotationPresent(XmlRootElement.class);
+    }
+
+    @Override
+    public Object resolveArgument(MessageContext messageContext, MethodParameter parameter) throws JAXBException {
+        Source payload = messageContext.getRequest().getPayloadSource();
+        if (payload == null) {
+            return null;
+        }
+        Pool pool = pool(parameter.getParameterType());
+        Unmarshaller unmarshaller = pool.unmarshallers.poll();
+        if (unmarshaller == null) {
+            unmarshaller = pool.context.createUnmarshaller();
+        }
+        try {
+            return unmarshaller.unmarshal(payload);
+        } finally {
+            pool.unmarshallers.offer(unmarshaller);
+        }
+    }
+
+    @Override
+    public void handleReturnValue(MessageContext messageContext, MethodParameter returnType, Object returnValue) throws JAXBException {
+        if (returnValue == null) {
+            return;
+        }
+        Pool pool = pool(returnValue.getClass());
+        Marshaller marshaller = pool.marshallers.poll();
+        if (marshaller == null) {
+            marshaller = pool.context.createMarshaller();
+        }
+        try {
+            marshaller.marshal(returnValue, messageContext.getResponse().getPayloadResult());
+        } finally {
+            pool.marshallers.offer(marshaller);
+        }
+    }
+
+    private Pool pool(Class<?> type) throws JAXBException {
+        Pool pool = pools.get(type);
+        if (pool == null) {
+            // Création hors computeIfAbsent : JAXBContext.newInstance est coûteux et lève une exception vérifiée
+            pool = new Pool(JAXBContext.newInstance(type), poolSize);
+            Pool existing = pools.putIfAbsent(type, pool);
+            if (existing != null) {
+                pool = existing;
+            }
+        }
+        return pool;
+    }
+
+    private static final class Pool {
+        final JAXBContext context;
+        final BlockingQueue<Marshaller> marshallers;
+        final BlockingQueue<Unmarshaller> unmarshallers;
+
+        Pool(JAXBContext context, int size) {
+            this.context = context;
+            this.marshallers = new ArrayBlockingQueue<>(size);
+            this.unmarshallers = new ArrayBlockingQueue<>(size);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.hotel.reservation.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Tâches planifiées de l'application (avance quotidienne de la fenêtre de RoomOccupancyIndex).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -7,150 +7,249 @@ import jakarta.servlet.http.HttpServletRequestWrapper;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
+/**
+ * Retire les octets parasites placés avant l'enveloppe SOAP par certains clients (métadonnées de
+ * formulaire envoyées par SoapUI, par exemple), sans copier le corps de la requête.
+ * <p>
+ * Seul le début du flux est lu à la construction : si le premier octet non blanc est '<', le corps
+ * est transmis tel quel ; sinon on cherche l'enveloppe dans un préfixe borné (PREFIX_SIZE) et on
+ * reprend la lecture à partir de là. Le reste du corps est lu directement dans le flux d'origine.
+ */
 @Slf4j
 public class SoapBodyCleaningRequestWrapper extends HttpServletRequestWrapper {
-    
-    private final byte[] cleanedBody;
-    private final Map<String, String> modifiedHeaders = new HashMap<>();
-    
+    private static final int PREFIX_SIZE = 8192;
+    private static final String CLEANED_CONTENT_TYPE = "text/xml; charset=UTF-8";
+
+    // Par ordre de préférence : une enveloppe explicite, sinon la première balise
+    private static final byte[][] PATTERNS = {
+            ascii("<soapenv:Envelope"),
+            ascii("<soap:Envelope"),
+            ascii("<SOAP-ENV:Envelope"),
+            ascii("<SOAP:Envelope"),
+            ascii("<Envelope"),
+            ascii("<")
+    };
+
+    private final ServletInputStream body;
+    private final long skipped;
+
     public SoapBodyCleaningRequestWrapper(HttpServletRequest request) throws IOException {
         super(request);
-        this.cleanedBody = cleanRequestBody(request);
-    }
-    
-    private byte[] cleanRequestBody(HttpServletRequest request) throws IOException {
-        StringBuilder body = new StringBuilder();
-        try (BufferedReader reader = request.getReader()) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                body.append(line).append("\n");
-            }
+        ServletInputStream original = request.getInputStream();
+        Head head = readHead(original);
+        int start = xmlStart(head.bytes, head.length);
+        if (start > 0) {
+            log.info("Corps SOAP nettoyé: {} octets de métadonnées retirés avant le XML", start);
         }
-        
-        String bodyStr = body.toString();
-        log.debug("Original body length: {} bytes", bodyStr.length());
-        
-        // Check if body already starts with XML
-        String trimmed = bodyStr.trim();
-        if (trimmed.startsWith("<")) {
-            log.debug("Body already starts with XML, no cleaning needed");
-            return bodyStr.getBytes(StandardCharsets.UTF_8);
-        }
-        
-        // Find the first XML tag (could be <soapenv:Envelope, <soap:Envelope, <Envelope, or just <)
-        int xmlStart = -1;
-        
-        // Try different SOAP envelope patterns
-        String[] patterns = {
-            "<soapenv:Envelope",
-            "<soap:Envelope",
-            "<SOAP-ENV:Envelope",
-            "<SOAP:Envelope",
-            "<Envelope",
-            "<"
-        };
-        
-        for (String pattern : patterns) {
-            xmlStart = bodyStr.indexOf(pattern);
-            if (xmlStart >= 0) {
-                log.info("Found XML starting pattern '{}' at position {}", pattern, xmlStart);
+        this.skipped = Math.max(start, 0);
+        this.body = new PrefixedInputStream(head.bytes, (int) skipped, head.length, original);
+    }
+
+    private record Head(byte[] bytes, int length) {
+    }
+
+    /**
+     * Lit les blancs de tête et le premier octet significatif ; s'il ne s'agit pas de '<', complète
+     * le préfixe (PREFIX_SIZE octets au plus) pour y chercher l'enveloppe.
+     */
+    private static Head readHead(ServletInputStream in) throws IOException {
+        byte[] head = new byte[16];
+        int length = 0;
+        int b = -1;
+        while (length < PREFIX_SIZE && (b = in.read()) != -1) {
+            if (length == head.length) {
+                head = Arrays.copyOf(head, Math.min(length * 2, PREFIX_SIZE));
+            }
+            head[length++] = (byte) b;
+            if (!Character.isWhitespace(b)) {
+                if (b == '<') {
+                    return new Head(head, length);
+                }
                 break;
             }
         }
-        
-        if (xmlStart < 0) {
-            log.warn("No XML found in request body, returning original");
-            return bodyStr.getBytes(StandardCharsets.UTF_8);
-        }
-        
-        // Extract XML from the found position
-        String cleaned = bodyStr.substring(xmlStart);
-        log.info("Cleaned body: removed {} bytes of metadata, {} bytes of XML remaining", 
-                xmlStart, cleaned.length());
-        log.debug("Cleaned body preview: {}", cleaned.substring(0, Math.min(200, cleaned.length())));
-        
-        // Update Content-Type header to text/xml since body was cleaned
-        modifiedHeaders.put("Content-Type", "text/xml; charset=UTF-8");
-        
-        return cleaned.getBytes(StandardCharsets.UTF_8);
-    }
-    
-    @Override
-    public ServletInputStream getInputStream() throws IOException {
-        return new ServletInputStream() {
-            private final ByteArrayInputStream bis = new ByteArrayInputStream(cleanedBody);
-            
-            @Override
-            public boolean isFinished() {
-                return bis.available() == 0;
-            }
-            
-            @Override
-            public boolean isReady() {
-                return true;
-            }
-            
-            @Override
-            public void setReadListener(ReadListener listener) {
-                // Not needed for synchronous reading
-            }
-            
-            @Override
-            public int read() throws IOException {
-                return bis.read();
+        // Fin du corps, ou préfixe entièrement blanc : rien à chercher
+        if (b == -1 || Character.isWhitespace(b)) {
+            return new Head(head, length);
+        }
+        head = Arrays.copyOf(head, PREFIX_SIZE);
+        int n;
+        while (length < head.length && (n = in.read(head, length, head.length - length)) != -1) {
+            length += n;
+        }
+        return new Head(head, length);
+    }
+
+    /**
+     * Position de l'enveloppe dans le préfixe : 0 si le corps commence déjà par du XML (aux blancs
+     * près, conservés), -1 si aucun XML n'y figure (le corps est alors transmis tel quel).
+     */
+    private static int xmlStart(byte[] head, int length) {
+        int first = 0;
+        while (first < length && Character.isWhitespace(head[first])) {
+            first++;
+        }
+        if (first == length || head[first] == '<') {
+            return 0;
+        }
+        for (byte[] pattern : PATTERNS) {
+            int index = indexOf(head, length, pattern);
+            if (index >= 0) {
+                return index;
             }
-            
-            @Override
-            public int read(byte[] b, int off, int len) throws IOException {
-                return bis.read(b, off, len);
+        }
+        log.warn("Aucun XML dans les {} premiers octets du corps SOAP, transmis tel quel", length);
+        return -1;
+    }
+
+    private static int indexOf(byte[] data, int length, byte[] pattern) {
+        outer:
+        for (int i = 0; i <= length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
             }
-        };
+            return i;
+        }
+        return -1;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
     }
-    
+
+    private boolean cleaned() {
+        return skipped > 0;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        return body;
+    }
+
     @Override
-    public BufferedReader getReader() throws IOException {
-        return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
     }
-    
+
     @Override
     public int getContentLength() {
-        return cleanedBody.length;
+        long length = getContentLengthLong();
+        return length <= Integer.MAX_VALUE ? (int) length : -1;
     }
-    
+
     @Override
     public long getContentLengthLong() {
-        return cleanedBody.length;
+        long length = super.getContentLengthLong();
+        return length >= 0 ? length - skipped : length;
     }
-    
+
+    @Override
+    public String getContentType() {
+        return cleaned() ? CLEANED_CONTENT_TYPE : super.getContentType();
+    }
+
     @Override
     public String getHeader(String name) {
-        // Return modified header if present, otherwise delegate to parent
-        if (modifiedHeaders.containsKey(name)) {
-            return modifiedHeaders.get(name);
+        if (cleaned() && "Content-Type".equalsIgnoreCase(name)) {
+            return CLEANED_CONTENT_TYPE;
+        }
+        if (cleaned() && "Content-Length".equalsIgnoreCase(name)) {
+            long length = getContentLengthLong();
+            return length >= 0 ? String.valueOf(length) : null;
         }
         return super.getHeader(name);
     }
-    
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        if (cleaned() && ("Content-Type".equalsIgnoreCase(name) || "Content-Length".equalsIgnoreCase(name))) {
+            String value = getHeader(name);
+            return value != null ? Collections.enumeration(Set.of(value)) : Collections.emptyEnumeration();
+        }
+        return super.getHeaders(name);
+    }
+
     @Override
     public Enumeration<String> getHeaderNames() {
-        // Combine original headers with modified ones
-        Map<String, String> allHeaders = new HashMap<>();
-        Enumeration<String> originalHeaders = super.getHeaderNames();
-        while (originalHeaders.hasMoreElements()) {
-            String headerName = originalHeaders.nextElement();
-            allHeaders.put(headerName, super.getHeader(headerName));
+        if (!cleaned()) {
+            return super.getHeaderNames();
         }
-        allHeaders.putAll(modifiedHeaders);
-        return Collections.enumeration(allHeaders.keySet());
+        Set<String> names = new LinkedHashSet<>(Collections.list(super.getHeaderNames()));
+        if (names.stream().noneMatch("Content-Type"::equalsIgnoreCase)) {
+            names.add("Content-Type");
+        }
+        return Collections.enumeration(names);
     }
-}
 
+    /**
+     * Sert d'abord la partie utile du préfixe déjà lu, puis délègue au flux d'origine.
+     */
+    private static final class PrefixedInputStream extends ServletInputStream {
+        private final byte[] head;
+        private final int headEnd;
+        private final ServletInputStream original;
+        private int position;
+
+        PrefixedInputStream(byte[] head, int headStart, int headEnd, ServletInputStream original) {
+            this.head = head;
+            this.position = headStart;
+            this.headEnd = headEnd;
+            this.original = original;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return position < headEnd ? head[position++] & 0xFF : original.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position < headEnd) {
+                int n = Math.min(len, headEnd - position);
+                System.arraycopy(head, position, b, off, n);
+                position += n;
+                return n;
+            }
+            return original.read(b, off, len);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return position < headEnd ? headEnd - position : original.available();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return position >= headEnd && original.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return position < headEnd || original.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            original.setReadListener(listener);
+        }
+
+        @Override
+        public void close() throws IOException {
+            original.close();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.hotel.reservation.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /actuator/soapcaptures : dernières captures SOAP (?operation=createReservation&limit=20),
+ * DELETE pour vider l'anneau. Exposé uniquement avec le profil dev (application-dev.properties).
+ */
+@Component
+@Endpoint(id = "soapcaptures")
+@RequiredArgsConstructor
+public class SoapCaptureEndpoint {
+    private static final int DEFAULT_LIMIT = 50;
+
+    private final SoapPayloadCapture capture;
+
+    @ReadOperation
+    public Map<String, Object> captures(@Nullable String operation, @Nullable Integer limit) {
+        List<SoapPayloadCapture.Entry> entries = capture.recent(operation, limit != null && limit > 0 ? limit : DEFAULT_LIMIT);
+        return Map.of("capacity", capture.capacity(), "captures", entries);
+    }
+
+    @DeleteOperation
+    public void clear() {
+        capture.clear();
+    }
+}
@@ -0,0 +1,69 @@
+package com.hotel.reservation.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.EndpointInterceptor;
+import org.springframework.ws.server.endpoint.MethodEndpoint;
+
+/**
+ * Alimente {@link SoapPayloadCapture} : requête et réponse des échanges échantillonnés, requête
+ * et faute de tous les échanges en erreur.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SoapCaptureInterceptor implements EndpointInterceptor {
+    private static final String EXCHANGE_ID = SoapCaptureInterceptor.class.getName() + ".exchangeId";
+
+    private final SoapPayloadCapture capture;
+
+    @Override
+    public boolean handleRequest(MessageContext messageContext, Object endpoint) {
+        String operation = operation(endpoint);
+        if (capture.isSampled(operation)) {
+            long exchangeId = capture.newExchange();
+            messageContext.setProperty(EXCHANGE_ID, exchangeId);
+            capture.capture(exchangeId, operation, SoapPayloadCapture.Kind.REQUEST, messageContext.getRequest());
+        }
+        return true;
+    }
+
+    @Override
+    public boolean handleResponse(MessageContext messageContext, Object endpoint) {
+        Object exchangeId = messageContext.getProperty(EXCHANGE_ID);
+        if (exchangeId != null && messageContext.hasResponse()) {
+            capture.capture((Long) exchangeId, operation(endpoint), SoapPayloadCapture.Kind.RESPONSE, messageContext.getResponse());
+        }
+        return true;
+    }
+
+    @Override
+    public boolean handleFault(MessageContext messageContext, Object endpoint) {
+        if (!capture.isCapturingFaults() || !messageContext.hasResponse()) {
+            return true;
+        }
+        String operation = operation(endpoint);
+        Object exchangeId = messageContext.getProperty(EXCHANGE_ID);
+        long id;
+        if (exchangeId != null) {
+            id = (Long) exchangeId;
+        } else {
+            // Échange non échantillonné : la requête est capturée avec sa faute
+            id = capture.newExchange();
+            capture.capture(id, operation, SoapPayloadCapture.Kind.REQUEST, messageContext.getRequest());
+        }
+        capture.capture(id, operation, SoapPayloadCapture.Kind.FAULT, messageContext.getResponse());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(MessageContext messageContext, Object endpoint, Exception ex) {
+        if (ex != null) {
+            log.error("Échange SOAP {} terminé en erreur: {}", operation(endpoint), ex.getMessage(), ex);
+        }
+    }
+
+    private static String operation(Object endpoint) {
+        return endpoint instanceof MethodEndpoint methodEndpoint ? methodEndpoint.getMethod().getName() : "unknown";
+    }
+}
@@ -12,17 +12,13 @@ public class SoapExceptionHandler extends SoapFaultMappingExceptionResolver {
 
     @Override
     protected void customizeFault(Object endpoint, Exception ex, SoapFault fault) {
-        log.error("=== SOAP FAULT OCCURRED ===");
-        log.error("Endpoint: {}", endpoint != null ? endpoint.getClass().getName() : "null");
-        log.error("Exception type: {}", ex.getClass().getName());
-        log.error("Exception message: {}", ex.getMessage());
-        log.error("Stack trace:", ex);
-        
+        // Le message de la faute est consultable via /actuator/soapcaptures ; la pile reste en DEBUG
+        log.warn("Faute SOAP ({}): {}", ex.getClass().getSimpleName(), ex.getMessage());
+        log.debug("Pile de la faute SOAP", ex);
+
         SoapFaultDetail detail = fault.addFaultDetail();
         detail.addFaultDetailElement(new QName("http://hotel.com/reservation/soap", "error"));
         detail.addFaultDetailElement(new QName("http://hotel.com/reservation/soap", "message"));
-        
-        log.error("=== END SOAP FAULT ===");
     }
 }
 
@@ -0,0 +1,253 @@
+package com.hotel.reservation.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.ws.WebServiceMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Pattern;
+
+/**
+ * Capture échantillonnée des messages SOAP, consultable via l'endpoint actuator soapcaptures.
+ * <p>
+ * Le taux d'échantillonnage est défini par opération (méthode de l'endpoint) ; les fautes sont
+ * toujours capturées. Sur le thread de la requête, seuls les premiers max-payload-bytes octets du
+ * message sont sérialisés, l'écriture étant interrompue au-delà ; le décodage, le masquage des
+ * éléments sensibles (masked-elements) et la publication dans l'anneau se font sur soapCaptureExecutor.
+ * Les captures sont perdues (et comptées) si cet exécuteur est saturé. L'anneau est sans verrou :
+ * chaque capture prend le numéro de séquence suivant et écrase la plus ancienne.
+ */
+@Slf4j
+@Component
+public class SoapPayloadCapture {
+
+    public enum Kind { REQUEST, RESPONSE, FAULT }
+
+    /**
+     * size : octets copiés du message, au plus max-payload-bytes (truncated si le message est plus long).
+     */
+    public record Entry(long sequence, long exchangeId, Instant timestamp, String operation, Kind kind,
+                        long size, boolean truncated, String payload) {
+    }
+
+    private static final String MASK = "***";
+
+    private final AtomicReferenceArray<Entry> ring;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong exchanges = new AtomicLong();
+    private final Executor executor;
+    private final double defaultRate;
+    private final Map<String, Double> operationRates;
+    private final boolean sampling;
+    private final boolean captureFaults;
+    private final int maxPayloadBytes;
+    private final Pattern maskedElements;
+    private final Counter dropped;
+
+    public SoapPayloadCapture(@Qualifier("soapCaptureExecutor") Executor executor,
+                              MeterRegistry meterRegistry,
+                              @Value("${reservation.soap.capture.buffer-size:256}") int bufferSize,
+                              @Value("${reservation.soap.capture.sample-rate:0}") double defaultRate,
+                              @Value("${reservation.soap.capture.operations:}") String operationRates,
+                              @Value("${reservation.soap.capture.faults:true}") boolean captureFaults,
+                              @Value("${reservation.soap.capture.max-payload-bytes:16384}") int maxPayloadBytes,
+                              @Value("${reservation.soap.capture.masked-elements:preferences,nom,prenom,email,telephone}") List<String> maskedElements) {
+        int capacity = Integer.highestOneBit(Math.max(bufferSize - 1, 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.executor = executor;
+        this.defaultRate = defaultRate;
+        this.operationRates = parseRates(operationRates);
+        this.sampling = defaultRate > 0 || this.operationRates.values().stream().anyMatch(rate -> rate > 0);
+        this.captureFaults = captureFaults;
+        this.maxPayloadBytes = maxPayloadBytes;
+        this.maskedElements = maskPattern(maskedElements);
+        this.dropped = Counter.builder("soap.capture.dropped")
+                .description("Captures SOAP perdues, l'exécuteur de publication étant saturé")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Tirage de l'échantillonnage pour un échange ; sans aucun taux configuré, ne coûte qu'un test.
+     */
+    public boolean isSampled(String operation) {
+        if (!sampling) {
+            return false;
+        }
+        double rate = operationRates.getOrDefault(operation, defaultRate);
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    public boolean isCapturingFaults() {
+        return captureFaults;
+    }
+
+    public long newExchange() {
+        return exchanges.incrementAndGet();
+    }
+
+    /**
+     * Copie le début du message sur le thread appelant, puis le publie de façon asynchrone.
+     */
+    public void capture(long exchangeId, String operation, Kind kind, WebServiceMessage message) {
+        BoundedOutputStream out = new BoundedOutputStream(maxPayloadBytes);
+        try {
+            message.writeTo(out);
+        } catch (IOException | RuntimeException e) {
+            // L'interruption au plafond peut être enveloppée par l'implémentation SAAJ
+            if (!out.truncated) {
+                log.debug("Capture SOAP impossible pour {} {}: {}", operation, kind, e.getMessage());
+                return;
+            }
+        }
+        Instant timestamp = Instant.now();
+        try {
+            executor.execute(() -> publish(new Entry(0, exchangeId, timestamp, operation, kind,
+                    out.size(), out.truncated, mask(out.toString(StandardCharsets.UTF_8)))));
+        } catch (TaskRejectedException e) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Captures les plus récentes d'abord, éventuellement limitées à une opération.
+     */
+    public List<Entry> recent(String operation, int limit) {
+        List<Entry> entries = new ArrayList<>(Math.min(limit, ring.length()));
+        long last = sequence.get();
+        for (long seq = last - 1; seq >= 0 && seq >= last - ring.length() && entries.size() < limit; seq--) {
+            Entry entry = ring.get((int) (seq & mask));
+            // Un emplacement déjà réécrit par une capture plus récente est ignoré
+            if (entry != null && entry.sequence() == seq && (operation == null || operation.equals(entry.operation()))) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    public int capacity() {
+        return ring.length();
+    }
+
+    public void clear() {
+        for (int i = 0; i < ring.length(); i++) {
+            ring.set(i, null);
+        }
+    }
+
+    private void publish(Entry entry) {
+        long seq = sequence.getAndIncrement();
+        ring.set((int) (seq & mask), new Entry(seq, entry.exchangeId(), entry.timestamp(), entry.operation(),
+                entry.kind(), entry.size(), entry.truncated(), entry.payload()));
+    }
+
+    /**
+     * Remplace le contenu texte (CDATA compris) des éléments masqués, quel que soit leur préfixe ;
+     * un élément coupé par la troncature est masqué jusqu'à la fin de la capture.
+     */
+    String mask(String payload) {
+        return maskedElements != null ? maskedElements.matcher(payload).replaceAll("$1" + MASK) : payload;
+    }
+
+    private static Pattern maskPattern(List<String> elements) {
+        List<String> names = elements.stream().map(String::trim).filter(name -> !name.isEmpty()).map(Pattern::quote).toList();
+        if (names.isEmpty()) {
+            return null;
+        }
+        return Pattern.compile("(<(?:[\\w.-]+:)?(?:" + String.join("|", names) + ")(?:\\s[^>]*)?(?<!/)>)"
+                + "(?:[^<]+|<!\\[CDATA\\[(?:(?!]]>).)*+(?:]]>)?)++", Pattern.DOTALL);
+    }
+
+    private static Map<String, Double> parseRates(String value) {
+        Map<String, Double> rates = new HashMap<>();
+        for (String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Taux de capture SOAP invalide: " + entry + " (operation:taux attendu)");
+            }
+            rates.put(entry.substring(0, separator).trim(), Double.parseDouble(entry.substring(separator + 1).trim()));
+        }
+        return rates;
+    }
+
+    /**
+     * Conserve les limit premiers octets écrits puis interrompt l'écriture : la suite du message
+     * n'est pas sérialisée.
+     */
+    private static final class BoundedOutputStream extends OutputStream {
+        private final ByteArrayOutputStream bytes;
+        private final int limit;
+        private boolean truncated;
+
+        BoundedOutputStream(int limit) {
+            this.bytes = new ByteArrayOutputStream(Math.min(limit, 1024));
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (bytes.size() >= limit) {
+                throw limitReached();
+            }
+            bytes.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            int kept = Math.min(len, limit - bytes.size());
+            if (kept > 0) {
+                bytes.write(b, off, kept);
+            }
+            if (kept < len) {
+                throw limitReached();
+            }
+        }
+
+        int size() {
+            return bytes.size();
+        }
+
+        String toString(Charset charset) {
+            return bytes.toString(charset);
+        }
+
+        private LimitReachedException limitReached() {
+            truncated = true;
+            return new LimitReachedException();
+        }
+    }
+
+    // Sans pile d'appels : levée à chaque capture tronquée
+    private static final class LimitReachedException extends IOException {
+        LimitReachedException() {
+            super("Taille maximale de capture atteinte");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.hotel.reservation.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Accès aux threads virtuels (Java 21+) pour une application compilée en Java 17 : l'API est
+ * appelée par réflexion, et {@link #isAvailable()} vaut false sur une JVM plus ancienne.
+ */
+public final class VirtualThreads {
+    // En Java 19 et 20, l'API existe mais n'est utilisable qu'avec --enable-preview
+    private static final Method OF_VIRTUAL = Runtime.version().feature() >= 21 ? method(Thread.class, "ofVirtual") : null;
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isAvailable() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Exécuteur qui démarre un thread virtuel par tâche, nommé namePrefix0, namePrefix1...
+     *
+     * @throws IllegalStateException si la JVM ne fournit pas de threads virtuels
+     */
+    public static ExecutorService newExecutor(String namePrefix) {
+        if (!isAvailable()) {
+            throw new IllegalStateException("Threads virtuels indisponibles (Java " + Runtime.version().feature() + ")");
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Création de l'exécuteur de threads virtuels impossible", e);
+        }
+    }
+
+    private static Method method(Class<?> type, String name) {
+        try {
+            return type.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
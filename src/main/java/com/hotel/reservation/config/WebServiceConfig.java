@@ -1,6 +1,10 @@
 package com.hotel.reservation.config;
 
+import com.hotel.reservation.service.ReservationConflictException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -9,6 +13,9 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.ws.config.annotation.EnableWs;
 import org.springframework.ws.config.annotation.WsConfigurerAdapter;
 import org.springframework.ws.server.EndpointInterceptor;
+import org.springframework.ws.server.endpoint.adapter.DefaultMethodEndpointAdapter;
+import org.springframework.ws.server.endpoint.adapter.method.MethodArgumentResolver;
+import org.springframework.ws.server.endpoint.adapter.method.MethodReturnValueHandler;
 import org.springframework.ws.soap.SoapVersion;
 import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
 import org.springframework.ws.transport.http.MessageDispatcherServlet;
@@ -16,10 +23,16 @@ import org.springframework.ws.wsdl.wsdl11.DefaultWsdl11Definition;
 import org.springframework.xml.xsd.SimpleXsdSchema;
 import org.springframework.xml.xsd.XsdSchema;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
 @Slf4j
 @Configuration
 @EnableWs
+@RequiredArgsConstructor
 public class WebServiceConfig extends WsConfigurerAdapter {
+    private final SoapPayloadCapture soapPayloadCapture;
 
     @Bean
     public ServletRegistrationBean<MessageDispatcherServlet> messageDispatcherServlet(ApplicationContext applicationContext) {
@@ -40,17 +53,46 @@ public class WebServiceConfig extends WsConfigurerAdapter {
         return messageFactory;
     }
 
+    /**
+     * Place PooledJaxbPayloadMethodProcessor devant les processeurs par défaut de Spring WS (les
+     * processeurs "custom" de WsConfigurer passent après eux). reservation.soap.jaxb.pool-size=0
+     * conserve XmlRootElementPayloadMethodProcessor, pour comparer les deux modes.
+     */
+    @Bean
+    public static BeanPostProcessor pooledJaxbProcessorRegistrar(@Value("${reservation.soap.jaxb.pool-size:16}") int poolSize) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (poolSize > 0 && bean instanceof DefaultMethodEndpointAdapter adapter) {
+                    PooledJaxbPayloadMethodProcessor processor = new PooledJaxbPayloadMethodProcessor(poolSize);
+                    List<MethodArgumentResolver> resolvers = new ArrayList<>(adapter.getMethodArgumentResolvers());
+                    resolvers.add(0, processor);
+                    adapter.setMethodArgumentResolvers(resolvers);
+                    List<MethodReturnValueHandler> handlers = new ArrayList<>(adapter.getMethodReturnValueHandlers());
+                    handlers.add(0, processor);
+                    adapter.setMethodReturnValueHandlers(handlers);
+                    log.info("Marshalling SOAP par JAXB mutualisé ({} instances par classe)", poolSize);
+                }
+                return bean;
+            }
+        };
+    }
+
     @Override
-    public void addInterceptors(java.util.List<EndpointInterceptor> interceptors) {
-        log.info("Adding SOAP logging interceptor");
-        interceptors.add(new SoapLoggingInterceptor());
-        log.info("SOAP logging interceptor added successfully");
+    public void addInterceptors(List<EndpointInterceptor> interceptors) {
+        interceptors.add(new SoapCaptureInterceptor(soapPayloadCapture));
     }
 
     @Bean
     public SoapExceptionHandler exceptionResolver() {
         log.info("Configuring SOAP exception handler");
         SoapExceptionHandler exceptionResolver = new SoapExceptionHandler();
+        // Les erreurs métier (chevauchement de séjours, dates invalides) sont des fautes Client
+        Properties errorMappings = new Properties();
+        errorMappings.setProperty(ReservationConflictException.class.getName(), "CLIENT");
+        errorMappings.setProperty(IllegalArgumentException.class.getName(), "CLIENT");
+        exceptionResolver.setExceptionMappings(errorMappings);
+        exceptionResolver.setOrder(1);
         log.info("SOAP exception handler configured");
         return exceptionResolver;
     }
@@ -0,0 +1,53 @@
+package com.hotel.reservation.controller.graphql;
+
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.language.OperationDefinition;
+import graphql.schema.DataFetcher;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Exécute chaque champ racine d'une query sur l'exécuteur GraphQL : les champs indépendants
+ * d'une même requête (et leurs accès base) se déroulent en parallèle au lieu de s'enchaîner.
+ * Les mutations restent séquentielles, comme l'impose la spécification.
+ */
+@Component
+public class AsyncQueryFieldsInstrumentation extends SimplePerformantInstrumentation {
+    private final Executor executor;
+
+    public AsyncQueryFieldsInstrumentation(@Qualifier("graphqlExecutor") Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters,
+                                                InstrumentationState state) {
+        boolean queryRootField = parameters.getExecutionStepInfo().getPath().getLevel() == 1
+                && parameters.getExecutionContext().getOperationDefinition().getOperation() == OperationDefinition.Operation.QUERY;
+        if (!queryRootField || parameters.isTrivialDataFetcher()) {
+            return dataFetcher;
+        }
+        return environment -> CompletableFuture.<Object>supplyAsync(() -> {
+            try {
+                return dataFetcher.get(environment);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor).thenCompose(AsyncQueryFieldsInstrumentation::flatten);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletionStage<Object> flatten(Object value) {
+        return value instanceof CompletionStage<?> stage
+                ? (CompletionStage<Object>) stage
+                : CompletableFuture.completedFuture(value);
+    }
+}
+
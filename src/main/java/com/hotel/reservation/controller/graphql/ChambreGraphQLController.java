@@ -0,0 +1,21 @@
+package com.hotel.reservation.controller.graphql;
+
+import com.hotel.reservation.entity.Chambre;
+import com.hotel.reservation.service.ChambreService;
+import graphql.kickstart.tools.GraphQLQueryResolver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class ChambreGraphQLController implements GraphQLQueryResolver {
+    private final ChambreService chambreService;
+
+    public List<Chambre> availableChambres(String type, String from, String to) {
+        return chambreService.getAvailableChambres(type, LocalDate.parse(from), LocalDate.parse(to));
+    }
+}
+
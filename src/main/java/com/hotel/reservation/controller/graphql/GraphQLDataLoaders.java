@@ -0,0 +1,43 @@
+package com.hotel.reservation.controller.graphql;
+
+import com.hotel.reservation.entity.Chambre;
+import com.hotel.reservation.entity.Client;
+import com.hotel.reservation.service.ChambreService;
+import com.hotel.reservation.service.ClientService;
+import lombok.RequiredArgsConstructor;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * DataLoaders des entités liées à une réservation, pour celles qui ne sont pas déjà chargées (voir
+ * ReservationFieldResolver). Un registre est créé par requête GraphQL : les clés demandées pendant
+ * l'exécution sont regroupées en un seul findAllById par type.
+ */
+@Component
+@RequiredArgsConstructor
+public class GraphQLDataLoaders {
+    public static final String CLIENT = "client";
+    public static final String CHAMBRE = "chambre";
+
+    private final ClientService clientService;
+    private final ChambreService chambreService;
+
+    public DataLoaderRegistry newRegistry() {
+        DataLoader<Long, Client> clients = DataLoaderFactory.newMappedDataLoader(ids -> CompletableFuture.completedFuture(
+                clientService.getClients(ids).stream().collect(Collectors.toMap(Client::getId, Function.identity()))));
+        DataLoader<Long, Chambre> chambres = DataLoaderFactory.newMappedDataLoader(ids -> CompletableFuture.completedFuture(
+                chambreService.getChambres(ids).stream().collect(Collectors.toMap(Chambre::getId, Function.identity()))));
+        return DataLoaderRegistry.newRegistry()
+                .register(CLIENT, clients)
+                .register(CHAMBRE, chambres)
+                .build();
+    }
+}
+
@@ -0,0 +1,90 @@
+package com.hotel.reservation.controller.graphql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Cache des documents GraphQL analysés et validés, pour ne pas refaire ce travail à chaque requête.
+ * Les requêtes classiques sont indexées par leur texte ; les requêtes persistées automatiquement
+ * (APQ, extensions.persistedQuery.sha256Hash) par leur empreinte, le texte n'étant envoyé qu'une fois.
+ * Les documents en erreur ne sont pas conservés.
+ */
+@Component
+public class GraphQLDocumentCache implements PreparsedDocumentProvider, PersistedQueryCache {
+    private static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+
+    private final Cache<String, PreparsedDocumentEntry> documents;
+    private final Cache<Object, PreparsedDocumentEntry> persistedQueries;
+    private final ApolloPersistedQuerySupport persistedQuerySupport = new ApolloPersistedQuerySupport(this);
+
+    public GraphQLDocumentCache(MeterRegistry meterRegistry,
+                                @Value("${reservation.graphql.document-cache-size:1000}") long documentCacheSize,
+                                @Value("${reservation.graphql.persisted-query-cache-size:1000}") long persistedQueryCacheSize) {
+        this.documents = Caffeine.newBuilder().maximumSize(documentCacheSize).recordStats().build();
+        this.persistedQueries = Caffeine.newBuilder().maximumSize(persistedQueryCacheSize).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, documents, "graphql.documents");
+        CaffeineCacheMetrics.monitor(meterRegistry, persistedQueries, "graphql.persisted-queries");
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+                                                                     Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        if (executionInput.getExtensions().containsKey(PERSISTED_QUERY_EXTENSION)) {
+            return persistedQuerySupport.getDocumentAsync(executionInput, parseAndValidateFunction);
+        }
+        PreparsedDocumentEntry entry = documents.getIfPresent(executionInput.getQuery());
+        if (entry == null) {
+            entry = parseAndValidateFunction.apply(executionInput);
+            if (!entry.hasErrors()) {
+                documents.put(executionInput.getQuery(), entry);
+            }
+        }
+        return CompletableFuture.completedFuture(entry);
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(Object persistedQueryId, ExecutionInput executionInput,
+                                                                                   PersistedQueryCacheMiss onCacheMiss) {
+        PreparsedDocumentEntry entry = persistedQueries.getIfPresent(persistedQueryId);
+        if (entry == null) {
+            // Sans texte de requête, onCacheMiss lève PersistedQueryNotFound : le client renverra le texte
+            String queryText = executionInput.getQuery();
+            entry = onCacheMiss.apply(PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(queryText) ? null : queryText);
+            if (!entry.hasErrors()) {
+                persistedQueries.put(persistedQueryId, entry);
+            }
+        }
+        return CompletableFuture.completedFuture(entry);
+    }
+
+    // Encore abstraites dans graphql-java 20 : le moteur appelle getDocumentAsync et seul
+    // ApolloPersistedQuerySupport appelle getPersistedQueryDocument ; les deux délèguent aux variantes asynchrones.
+
+    @Override
+    @Deprecated
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+                                              Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return getDocumentAsync(executionInput, parseAndValidateFunction).join();
+    }
+
+    @Override
+    @Deprecated
+    public PreparsedDocumentEntry getPersistedQueryDocument(Object persistedQueryId, ExecutionInput executionInput,
+                                                            PersistedQueryCacheMiss onCacheMiss) {
+        return getPersistedQueryDocumentAsync(persistedQueryId, executionInput, onCacheMiss).join();
+    }
+}
@@ -3,6 +3,8 @@ package com.hotel.reservation.controller.graphql;
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
 import graphql.kickstart.tools.SchemaParser;
 import graphql.schema.GraphQLSchema;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +18,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @RestController
@@ -24,9 +28,17 @@ import java.util.Map;
 public class GraphQLRestController {
 
     private final GraphQL graphQL;
+    private final GraphQLDataLoaders dataLoaders;
 
     @Autowired
-    public GraphQLRestController(ReservationGraphQLController queryResolver) throws IOException {
+    public GraphQLRestController(ReservationGraphQLController queryResolver,
+                                 ChambreGraphQLController chambreResolver,
+                                 ReservationFieldResolver reservationFieldResolver,
+                                 GraphQLDataLoaders dataLoaders,
+                                 GraphQLDocumentCache documentCache,
+                                 QueryCostInstrumentation queryCostInstrumentation,
+                                 AsyncQueryFieldsInstrumentation asyncQueryFieldsInstrumentation) throws IOException {
+        this.dataLoaders = dataLoaders;
         
         // Charger le schéma GraphQL depuis le fichier
         ClassPathResource schemaResource = new ClassPathResource("schema.graphqls");
@@ -37,53 +49,71 @@ public class GraphQLRestController {
         // Créer le parser de schéma avec les resolvers
         SchemaParser schemaParser = SchemaParser.newParser()
                 .schemaString(schemaString)
-                .resolvers(queryResolver)
+                .resolvers(queryResolver, chambreResolver, reservationFieldResolver)
                 .build();
         
         GraphQLSchema schema = schemaParser.makeExecutableSchema();
         
-        this.graphQL = GraphQL.newGraphQL(schema).build();
+        this.graphQL = GraphQL.newGraphQL(schema)
+                .preparsedDocumentProvider(documentCache)
+                // Le coût est vérifié avant que les champs ne partent sur l'exécuteur
+                .instrumentation(new ChainedInstrumentation(queryCostInstrumentation, asyncQueryFieldsInstrumentation))
+                .build();
         
         log.info("GraphQL endpoint configuré sur /graphql");
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public Map<String, Object> graphql(@RequestBody Map<String, Object> request) {
+    public CompletableFuture<Map<String, Object>> graphql(@RequestBody Map<String, Object> request) {
         try {
             String query = (String) request.get("query");
             @SuppressWarnings("unchecked")
             Map<String, Object> variables = (Map<String, Object>) request.getOrDefault("variables", new HashMap<>());
+            @SuppressWarnings("unchecked")
+            Map<String, Object> extensions = (Map<String, Object>) request.getOrDefault("extensions", new HashMap<>());
             
             log.debug("Requête GraphQL reçue: {}", query);
             
             ExecutionInput executionInput = ExecutionInput.newExecutionInput()
-                    .query(query)
+                    // Requête persistée (APQ) : seul l'empreinte sha256Hash est envoyée dans les extensions
+                    .query(query != null ? query : PersistedQuerySupport.PERSISTED_QUERY_MARKER)
                     .variables(variables)
+                    .extensions(extensions)
+                    .dataLoaderRegistry(dataLoaders.newRegistry())
                     .build();
             
-            ExecutionResult executionResult = graphQL.execute(executionInput);
-            
-            Map<String, Object> result = new HashMap<>();
-            if (executionResult.getErrors().isEmpty()) {
-                result.put("data", executionResult.getData());
-            } else {
-                result.put("data", executionResult.getData());
-                result.put("errors", executionResult.getErrors());
-                log.error("Erreurs GraphQL: {}", executionResult.getErrors());
-            }
-            
-            return result;
+            // Le thread Tomcat est libéré pendant l'exécution, la réponse est écrite à la complétion
+            return graphQL.executeAsync(executionInput)
+                    .thenApply(this::toResponse)
+                    .exceptionally(this::toErrorResponse);
         } catch (Exception e) {
-            log.error("Erreur lors de l'exécution de la requête GraphQL", e);
-            Map<String, Object> errorResult = new HashMap<>();
-            errorResult.put("errors", List.of(Map.of(
-                    "message", e.getMessage(),
-                    "extensions", Map.of("code", "INTERNAL_ERROR")
-            )));
-            return errorResult;
+            return CompletableFuture.completedFuture(toErrorResponse(e));
         }
     }
 
+    private Map<String, Object> toResponse(ExecutionResult executionResult) {
+        Map<String, Object> result = new HashMap<>();
+        if (executionResult.getErrors().isEmpty()) {
+            result.put("data", executionResult.getData());
+        } else {
+            result.put("data", executionResult.getData());
+            result.put("errors", executionResult.toSpecification().get("errors"));
+            log.error("Erreurs GraphQL: {}", executionResult.getErrors());
+        }
+        return result;
+    }
+
+    private Map<String, Object> toErrorResponse(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        log.error("Erreur lors de l'exécution de la requête GraphQL", cause);
+        Map<String, Object> errorResult = new HashMap<>();
+        errorResult.put("errors", List.of(Map.of(
+                "message", String.valueOf(cause.getMessage()),
+                "extensions", Map.of("code", "INTERNAL_ERROR")
+        )));
+        return errorResult;
+    }
+
     @GetMapping
     public String graphqlInfo() {
         return "GraphQL endpoint disponible. Utilisez POST /graphql avec une requête GraphQL.";
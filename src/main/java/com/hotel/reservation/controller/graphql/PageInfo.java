@@ -0,0 +1,12 @@
+package com.hotel.reservation.controller.graphql;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PageInfo {
+    private boolean hasNextPage;
+    private String endCursor;
+}
+
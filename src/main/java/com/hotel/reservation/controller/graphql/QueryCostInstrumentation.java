@@ -0,0 +1,156 @@
+package com.hotel.reservation.controller.graphql;
+
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.normalized.ExecutableNormalizedField;
+import graphql.normalized.ExecutableNormalizedOperation;
+import graphql.normalized.ExecutableNormalizedOperationFactory;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Analyse statique du coût et de la profondeur d'une opération, avant toute exécution.
+ * Chaque champ objet coûte field-cost (ou le coût configuré pour Type.champ), un scalaire ne coûte rien.
+ * Un champ liste multiplie le coût de ses sous-champs par son argument first/limit, à défaut par la
+ * taille de page du champ parent (connexions), à défaut par default-list-size. Le coût propre du
+ * champ n'est compté qu'une fois : il représente l'appel, les sous-champs représentent chaque élément.
+ */
+@Slf4j
+@Component
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+    private static final String[] SIZE_ARGUMENTS = {"first", "limit"};
+
+    private final long maxCost;
+    private final int maxDepth;
+    private final long defaultFieldCost;
+    private final long defaultListSize;
+    private final long maxListSize;
+    private final Map<String, Long> fieldCosts;
+    private final DistributionSummary acceptedCost;
+    private final Counter rejectedCost;
+    private final Counter rejectedDepth;
+
+    public QueryCostInstrumentation(MeterRegistry meterRegistry,
+                                    @Value("${reservation.graphql.cost.max-cost:5000}") long maxCost,
+                                    @Value("${reservation.graphql.cost.max-depth:8}") int maxDepth,
+                                    @Value("${reservation.graphql.cost.field-cost:1}") long defaultFieldCost,
+                                    @Value("${reservation.graphql.cost.default-list-size:50}") long defaultListSize,
+                                    @Value("${reservation.graphql.cost.max-list-size:500}") long maxListSize,
+                                    @Value("${reservation.graphql.cost.fields:}") String fieldCosts) {
+        this.maxCost = maxCost;
+        this.maxDepth = maxDepth;
+        this.defaultFieldCost = defaultFieldCost;
+        this.defaultListSize = defaultListSize;
+        this.maxListSize = maxListSize;
+        this.fieldCosts = parseFieldCosts(fieldCosts);
+        this.acceptedCost = DistributionSummary.builder("graphql.query.cost")
+                .description("Coût calculé des opérations GraphQL acceptées")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejectedCost = Counter.builder("graphql.query.rejected").tag("reason", "cost").register(meterRegistry);
+        this.rejectedDepth = Counter.builder("graphql.query.rejected").tag("reason", "depth").register(meterRegistry);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                          InstrumentationState state) {
+        GraphQLSchema schema = parameters.getExecutionContext().getGraphQLSchema();
+        ExecutableNormalizedOperation operation = ExecutableNormalizedOperationFactory.createExecutableNormalizedOperation(
+                schema,
+                parameters.getExecutionContext().getOperationDefinition(),
+                parameters.getExecutionContext().getFragmentsByName(),
+                parameters.getExecutionContext().getCoercedVariables());
+
+        long cost = 0;
+        int depth = 0;
+        for (ExecutableNormalizedField field : operation.getTopLevelFields()) {
+            // L'introspection (__schema, __type) est servie sans accès base et reste ouverte aux outils
+            if (field.getName().startsWith("__")) {
+                continue;
+            }
+            cost += cost(schema, field, null);
+            depth = Math.max(depth, depth(field));
+        }
+        if (depth > maxDepth) {
+            rejectedDepth.increment();
+            throw new QueryCostLimitExceededException("Requête trop profonde: " + depth + " niveaux (maximum " + maxDepth + ")",
+                    "MAX_QUERY_DEPTH_EXCEEDED", depth, maxDepth);
+        }
+        if (cost > maxCost) {
+            rejectedCost.increment();
+            throw new QueryCostLimitExceededException("Requête trop coûteuse: coût " + cost + " (maximum " + maxCost + ")",
+                    "MAX_QUERY_COST_EXCEEDED", cost, maxCost);
+        }
+        log.debug("Coût de l'opération GraphQL: {} (profondeur {})", cost, depth);
+        acceptedCost.record(cost);
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    private long cost(GraphQLSchema schema, ExecutableNormalizedField field, Long parentPageSize) {
+        GraphQLFieldDefinition definition = field.getFieldDefinitions(schema).get(0);
+        boolean leaf = GraphQLTypeUtil.isLeaf(GraphQLTypeUtil.unwrapAll(definition.getType()));
+        String coordinates = field.getObjectTypeNames().iterator().next() + "." + field.getName();
+        long ownCost = fieldCosts.getOrDefault(coordinates, leaf ? 0L : defaultFieldCost);
+
+        Long pageSize = pageSize(field);
+        long size = 1;
+        if (GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(definition.getType()))) {
+            size = pageSize != null ? pageSize : parentPageSize != null ? parentPageSize : defaultListSize;
+            pageSize = null;
+        }
+        long childrenCost = 0;
+        for (ExecutableNormalizedField child : field.getChildren()) {
+            childrenCost += cost(schema, child, pageSize);
+        }
+        return ownCost + size * childrenCost;
+    }
+
+    private Long pageSize(ExecutableNormalizedField field) {
+        for (String argument : SIZE_ARGUMENTS) {
+            if (field.getResolvedArguments().get(argument) instanceof Number size) {
+                return Math.min(Math.max(size.longValue(), 0), maxListSize);
+            }
+        }
+        return null;
+    }
+
+    private static int depth(ExecutableNormalizedField field) {
+        int depth = 0;
+        for (ExecutableNormalizedField child : field.getChildren()) {
+            depth = Math.max(depth, depth(child));
+        }
+        return depth + 1;
+    }
+
+    /**
+     * Format : Type.champ:coût séparés par des virgules, par exemple Query.getAllReservations:1000.
+     */
+    private static Map<String, Long> parseFieldCosts(String value) {
+        Map<String, Long> costs = new HashMap<>();
+        for (String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Coût de champ GraphQL invalide: " + entry + " (Type.champ:coût attendu)");
+            }
+            costs.put(entry.substring(0, separator).trim(), Long.parseLong(entry.substring(separator + 1).trim()));
+        }
+        return costs;
+    }
+}
+
@@ -0,0 +1,26 @@
+package com.hotel.reservation.controller.graphql;
+
+import graphql.execution.AbortExecutionException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Requête refusée avant exécution : renvoyée au client comme erreur GraphQL avec le détail du calcul.
+ */
+public class QueryCostLimitExceededException extends AbortExecutionException {
+    private final Map<String, Object> extensions = new LinkedHashMap<>();
+
+    public QueryCostLimitExceededException(String message, String code, long value, long limit) {
+        super(message);
+        extensions.put("code", code);
+        extensions.put("value", value);
+        extensions.put("limit", limit);
+    }
+
+    @Override
+    public Map<String, Object> getExtensions() {
+        return extensions;
+    }
+}
+
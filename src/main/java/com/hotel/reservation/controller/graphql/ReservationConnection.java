@@ -0,0 +1,14 @@
+package com.hotel.reservation.controller.graphql;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ReservationConnection {
+    private List<ReservationEdge> edges;
+    private PageInfo pageInfo;
+}
+
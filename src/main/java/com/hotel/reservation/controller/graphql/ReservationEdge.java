@@ -0,0 +1,13 @@
+package com.hotel.reservation.controller.graphql;
+
+import com.hotel.reservation.entity.Reservation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ReservationEdge {
+    private String cursor;
+    private Reservation node;
+}
+
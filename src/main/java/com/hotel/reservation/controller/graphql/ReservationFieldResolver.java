@@ -0,0 +1,36 @@
+package com.hotel.reservation.controller.graphql;
+
+import com.hotel.reservation.entity.Chambre;
+import com.hotel.reservation.entity.Client;
+import com.hotel.reservation.entity.Reservation;
+import graphql.kickstart.tools.GraphQLResolver;
+import graphql.schema.DataFetchingEnvironment;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Client et chambre d'une réservation. Les lectures de réservations les chargent déjà par jointure
+ * (graphe d'entité) : ils sont alors renvoyés tels quels. Seul un proxy non initialisé passe par les
+ * DataLoaders, qui regroupent ces ids en un findAllById par type.
+ */
+@Component
+public class ReservationFieldResolver implements GraphQLResolver<Reservation> {
+
+    public CompletableFuture<Client> client(Reservation reservation, DataFetchingEnvironment environment) {
+        Client client = reservation.getClient();
+        if (client == null || Hibernate.isInitialized(client)) {
+            return CompletableFuture.completedFuture(client);
+        }
+        return environment.<Long, Client>getDataLoader(GraphQLDataLoaders.CLIENT).load(client.getId());
+    }
+
+    public CompletableFuture<Chambre> chambre(Reservation reservation, DataFetchingEnvironment environment) {
+        Chambre chambre = reservation.getChambre();
+        if (chambre == null || Hibernate.isInitialized(chambre)) {
+            return CompletableFuture.completedFuture(chambre);
+        }
+        return environment.<Long, Chambre>getDataLoader(GraphQLDataLoaders.CHAMBRE).load(chambre.getId());
+    }
+}
@@ -1,17 +1,22 @@
 package com.hotel.reservation.controller.graphql;
 
 import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.service.ReservationPage;
 import com.hotel.reservation.service.ReservationService;
 import graphql.kickstart.tools.GraphQLQueryResolver;
 import graphql.kickstart.tools.GraphQLMutationResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
 import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class ReservationGraphQLController implements GraphQLQueryResolver, GraphQLMutationResolver {
+    private static final String CURSOR_PREFIX = "reservation:";
     private final ReservationService reservationService;
 
     public Reservation getReservation(Long id) {
@@ -23,6 +28,17 @@ public class ReservationGraphQLController implements GraphQLQueryResolver, Graph
         return reservationService.getAllReservations();
     }
 
+    public ReservationConnection reservations(Integer first, String after, Long chambreId, String from, String to) {
+        ReservationPage page = reservationService.getReservationPage(decodeCursor(after), first, chambreId,
+                from != null ? LocalDate.parse(from) : null,
+                to != null ? LocalDate.parse(to) : null);
+        List<ReservationEdge> edges = page.reservations().stream()
+                .map(reservation -> new ReservationEdge(encodeCursor(reservation.getId()), reservation))
+                .toList();
+        String endCursor = edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor();
+        return new ReservationConnection(edges, new PageInfo(page.hasNext(), endCursor));
+    }
+
     public Reservation createReservation(ReservationInput input) {
         Reservation reservation = new Reservation();
         reservation.setDateDebut(java.time.LocalDate.parse(input.getDateDebut()));
@@ -43,5 +59,25 @@ public class ReservationGraphQLController implements GraphQLQueryResolver, Graph
         reservationService.deleteReservation(id);
         return true;
     }
+
+    private static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("Curseur invalide: " + cursor);
+            }
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Curseur invalide: " + cursor, e);
+        }
+    }
 }
 
@@ -0,0 +1,238 @@
+package com.hotel.reservation.controller.grpc;
+
+import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.proto.BookingAck;
+import com.hotel.reservation.proto.BookingCommand;
+import com.hotel.reservation.service.BookingOperation;
+import com.hotel.reservation.service.BookingResult;
+import com.hotel.reservation.service.ReservationBatchService;
+import com.hotel.reservation.service.ReservationConflictException;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Session d'un flux BookReservations. Les commandes reçues sont accumulées puis appliquées par lots
+ * (tout ce qui est arrivé pendant le traitement du lot précédent, au plus batchSize) et acquittées dans
+ * l'ordre de réception. Le contrôle de flux est manuel : on ne redemande des messages au client
+ * qu'une fois le lot acquitté et le tampon de sortie prêt, si bien qu'un client trop rapide ou qui
+ * ne lit pas ses accusés est freiné par gRPC.
+ */
+@Slf4j
+class BookingStreamObserver implements StreamObserver<BookingCommand> {
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    private final ServerCallStreamObserver<BookingAck> responseObserver;
+    private final ReservationBatchService reservationBatchService;
+    private final Executor executor;
+    private final int batchSize;
+
+    private final Queue<BookingCommand> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private final AtomicInteger deferredRequests = new AtomicInteger();
+    private volatile boolean halfClosed;
+    private volatile boolean cancelled;
+
+    BookingStreamObserver(ServerCallStreamObserver<BookingAck> responseObserver,
+                          ReservationBatchService reservationBatchService, Executor executor, int batchSize) {
+        this.responseObserver = responseObserver;
+        this.reservationBatchService = reservationBatchService;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        responseObserver.disableAutoRequest();
+        responseObserver.setOnReadyHandler(this::onReady);
+        responseObserver.setOnCancelHandler(() -> {
+            cancelled = true;
+            pending.clear();
+        });
+        responseObserver.request(batchSize);
+    }
+
+    @Override
+    public void onNext(BookingCommand command) {
+        pending.add(command);
+        scheduleDrain();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        log.warn("gRPC BookReservations interrompu par le client: {}", t.getMessage());
+        cancelled = true;
+        pending.clear();
+    }
+
+    @Override
+    public void onCompleted() {
+        halfClosed = true;
+        scheduleDrain();
+    }
+
+    private void onReady() {
+        int requests = deferredRequests.getAndSet(0);
+        if (requests > 0) {
+            responseObserver.request(requests);
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Un seul drain actif à la fois : tous les appels à responseObserver sont donc sérialisés.
+     */
+    private void drain() {
+        try {
+            List<BookingCommand> batch;
+            while (!cancelled && !(batch = nextBatch()).isEmpty()) {
+                for (BookingAck ack : process(batch)) {
+                    responseObserver.onNext(ack);
+                }
+                requestMore(batch.size());
+            }
+            if (halfClosed && !cancelled && pending.isEmpty() && completed.compareAndSet(false, true)) {
+                responseObserver.onCompleted();
+            }
+        } catch (RuntimeException e) {
+            log.error("Erreur dans le flux BookReservations", e);
+            cancelled = true;
+            if (completed.compareAndSet(false, true)) {
+                responseObserver.onError(Status.INTERNAL
+                        .withDescription("Erreur lors du traitement des réservations: " + e.getMessage())
+                        .withCause(e)
+                        .asRuntimeException());
+            }
+        } finally {
+            draining.set(false);
+        }
+        // Une commande (ou la fin du flux) a pu arriver entre la fin de la boucle et la libération du drain
+        if (!cancelled && (!pending.isEmpty() || (halfClosed && !completed.get()))) {
+            scheduleDrain();
+        }
+    }
+
+    private List<BookingCommand> nextBatch() {
+        List<BookingCommand> batch = new ArrayList<>(batchSize);
+        BookingCommand command;
+        while (batch.size() < batchSize && (command = pending.poll()) != null) {
+            batch.add(command);
+        }
+        return batch;
+    }
+
+    private void requestMore(int count) {
+        if (responseObserver.isReady()) {
+            responseObserver.request(count);
+            return;
+        }
+        // Le client ne lit pas ses accusés assez vite : on attend que le tampon de sortie se vide
+        deferredRequests.addAndGet(count);
+        if (responseObserver.isReady()) {
+            onReady();
+        }
+    }
+
+    private List<BookingAck> process(List<BookingCommand> batch) {
+        BookingAck[] acks = new BookingAck[batch.size()];
+        List<BookingOperation> operations = new ArrayList<>(batch.size());
+        List<Integer> positions = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                operations.add(toOperation(batch.get(i)));
+                positions.add(i);
+            } catch (RuntimeException e) {
+                acks[i] = failure(batch.get(i), e);
+            }
+        }
+
+        List<BookingResult> results = reservationBatchService.applyBatch(operations);
+        for (int i = 0; i < results.size(); i++) {
+            BookingCommand command = batch.get(positions.get(i));
+            BookingResult result = results.get(i);
+            acks[positions.get(i)] = result.success()
+                    ? BookingAck.newBuilder()
+                            .setCommandId(command.getCommandId())
+                            .setSuccess(true)
+                            .setReservationId(result.reservationId())
+                            .setStatus(Status.Code.OK.name())
+                            .build()
+                    : failure(command, result.error());
+        }
+        return List.of(acks);
+    }
+
+    private static BookingOperation toOperation(BookingCommand command) {
+        switch (command.getCommandCase()) {
+            case CREATE:
+                return BookingOperation.create(toReservation(command.getCreate().getDateDebut(),
+                        command.getCreate().getDateFin(), command.getCreate().getPreferences()));
+            case UPDATE:
+                return BookingOperation.update(command.getUpdate().getId(), toReservation(command.getUpdate().getDateDebut(),
+                        command.getUpdate().getDateFin(), command.getUpdate().getPreferences()));
+            case CANCEL:
+                return BookingOperation.cancel(command.getCancel().getId());
+            default:
+                throw new IllegalArgumentException("La commande doit contenir create, update ou cancel");
+        }
+    }
+
+    private static Reservation toReservation(String dateDebut, String dateFin, String preferences) {
+        if (dateDebut.isEmpty()) {
+            throw new IllegalArgumentException("dateDebut est requis et ne peut pas être vide");
+        }
+        if (dateFin.isEmpty()) {
+            throw new IllegalArgumentException("dateFin est requis et ne peut pas être vide");
+        }
+        Reservation reservation = new Reservation();
+        reservation.setDateDebut(LocalDate.parse(dateDebut, formatter));
+        reservation.setDateFin(LocalDate.parse(dateFin, formatter));
+        reservation.setPreferences(preferences);
+        return reservation;
+    }
+
+    private static BookingAck failure(BookingCommand command, RuntimeException e) {
+        Status.Code code;
+        String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        if (e instanceof ReservationConflictException) {
+            code = Status.Code.ALREADY_EXISTS;
+        } else if (e instanceof DateTimeParseException) {
+            code = Status.Code.INVALID_ARGUMENT;
+            error = "Format de date invalide. Utilisez le format YYYY-MM-DD (ex: 2024-01-15)";
+        } else if (e instanceof IllegalArgumentException) {
+            code = Status.Code.INVALID_ARGUMENT;
+        } else if (e instanceof CannotAcquireLockException) {
+            code = Status.Code.UNAVAILABLE;
+        } else if (e instanceof OptimisticLockingFailureException) {
+            code = Status.Code.ABORTED;
+        } else if (error.contains("non trouvé")) {
+            code = Status.Code.NOT_FOUND;
+        } else {
+            log.error("Erreur lors du traitement de la commande {}", command.getCommandId(), e);
+            code = Status.Code.INTERNAL;
+        }
+        return BookingAck.newBuilder()
+                .setCommandId(command.getCommandId())
+                .setSuccess(false)
+                .setError(error)
+                .setStatus(code.name())
+                .build();
+    }
+}
+
@@ -1,18 +1,28 @@
 package com.hotel.reservation.controller.grpc;
 
+import com.hotel.reservation.entity.Chambre;
 import com.hotel.reservation.entity.Reservation;
 import com.hotel.reservation.proto.*;
+import com.hotel.reservation.service.ChambreService;
+import com.hotel.reservation.service.ReservationConflictException;
+import com.hotel.reservation.service.ReservationBatchService;
+import com.hotel.reservation.service.ReservationPage;
 import com.hotel.reservation.service.ReservationService;
 import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.concurrent.Executor;
 
 @Slf4j
 @GrpcService
@@ -20,6 +30,12 @@ import java.time.format.DateTimeParseException;
 @RequiredArgsConstructor
 public class ReservationGrpcServiceImpl extends ReservationServiceGrpc.ReservationServiceImplBase {
     private final ReservationService reservationService;
+    private final ChambreService chambreService;
+    private final ReservationBatchService reservationBatchService;
+    @Qualifier("bookingExecutor")
+    private final Executor bookingExecutor;
+    @Value("${reservation.grpc.booking.batch-size:64}")
+    private final int bookingBatchSize;
     private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE;
 
     @Override
@@ -65,6 +81,20 @@ public class ReservationGrpcServiceImpl extends ReservationServiceGrpc.Reservati
                     .withDescription("Format de date invalide. Utilisez le format YYYY-MM-DD (ex: 2024-01-15)")
                     .withCause(e)
                     .asRuntimeException());
+        } catch (CannotAcquireLockException e) {
+            log.warn("gRPC CreateReservation refusée: {}", e.getMessage());
+            responseObserver.onError(Status.UNAVAILABLE
+                    .withDescription(e.getMessage())
+                    .asRuntimeException());
+        } catch (ReservationConflictException e) {
+            log.warn("gRPC CreateReservation refusée: {}", e.getMessage());
+            responseObserver.onError(Status.ALREADY_EXISTS
+                    .withDescription(e.getMessage())
+                    .asRuntimeException());
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription(e.getMessage())
+                    .asRuntimeException());
         } catch (RuntimeException e) {
             log.error("Erreur lors de la création de la réservation", e);
             responseObserver.onError(Status.INTERNAL
@@ -157,6 +187,20 @@ public class ReservationGrpcServiceImpl extends ReservationServiceGrpc.Reservati
                     .withDescription("Format de date invalide. Utilisez le format YYYY-MM-DD (ex: 2024-01-15)")
                     .withCause(e)
                     .asRuntimeException());
+        } catch (CannotAcquireLockException e) {
+            log.warn("gRPC UpdateReservation refusée: {}", e.getMessage());
+            responseObserver.onError(Status.UNAVAILABLE
+                    .withDescription(e.getMessage())
+                    .asRuntimeException());
+        } catch (ReservationConflictException e) {
+            log.warn("gRPC UpdateReservation refusée: {}", e.getMessage());
+            responseObserver.onError(Status.ALREADY_EXISTS
+                    .withDescription(e.getMessage())
+                    .asRuntimeException());
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription(e.getMessage())
+                    .asRuntimeException());
         } catch (RuntimeException e) {
             log.error("Erreur lors de la mise à jour de la réservation", e);
             if (e.getMessage() != null && e.getMessage().contains("non trouvée")) {
@@ -201,5 +245,97 @@ public class ReservationGrpcServiceImpl extends ReservationServiceGrpc.Reservati
                     .asRuntimeException());
         }
     }
+
+    @Override
+    public void searchAvailability(SearchAvailabilityRequest request, StreamObserver<SearchAvailabilityResponse> responseObserver) {
+        try {
+            log.info("gRPC SearchAvailability request received: type={}, from={}, to={}",
+                    request.getType(), request.getFrom(), request.getTo());
+
+            if (request.getFrom().isEmpty() || request.getTo().isEmpty()) {
+                responseObserver.onError(Status.INVALID_ARGUMENT
+                        .withDescription("from et to sont requis et ne peuvent pas être vides")
+                        .asRuntimeException());
+                return;
+            }
+
+            SearchAvailabilityResponse.Builder response = SearchAvailabilityResponse.newBuilder();
+            for (Chambre chambre : chambreService.getAvailableChambres(request.getType(),
+                    LocalDate.parse(request.getFrom(), formatter), LocalDate.parse(request.getTo(), formatter))) {
+                response.addChambres(ChambreResponse.newBuilder()
+                        .setId(chambre.getId())
+                        .setType(chambre.getType() != null ? chambre.getType() : "")
+                        .setPrix(chambre.getPrix() != null ? chambre.getPrix() : 0.0)
+                        .setDisponible(Boolean.TRUE.equals(chambre.getDisponible())));
+            }
+
+            log.info("gRPC SearchAvailability success: {} chambres disponibles", response.getChambresCount());
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (DateTimeParseException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("Format de date invalide. Utilisez le format YYYY-MM-DD (ex: 2024-01-15)")
+                    .withCause(e)
+                    .asRuntimeException());
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription(e.getMessage())
+                    .asRuntimeException());
+        } catch (Exception e) {
+            log.error("Erreur lors de la recherche de disponibilité", e);
+            responseObserver.onError(Status.INTERNAL
+                    .withDescription("Erreur lors de la recherche de disponibilité: " + e.getMessage())
+                    .withCause(e)
+                    .asRuntimeException());
+        }
+    }
+
+    @Override
+    public void listReservations(ListReservationsRequest request, StreamObserver<ListReservationsResponse> responseObserver) {
+        try {
+            log.info("gRPC ListReservations request received: after={}, limit={}, chambreId={}",
+                    request.getAfter(), request.getLimit(), request.getChambreId());
+
+            ReservationPage page = reservationService.getReservationPage(request.getAfter(), request.getLimit(),
+                    request.getChambreId() != 0 ? request.getChambreId() : null,
+                    request.getDateFrom().isEmpty() ? null : LocalDate.parse(request.getDateFrom(), formatter),
+                    request.getDateTo().isEmpty() ? null : LocalDate.parse(request.getDateTo(), formatter));
+
+            ListReservationsResponse.Builder response = ListReservationsResponse.newBuilder()
+                    .setHasNext(page.hasNext());
+            if (page.nextCursor() != null) {
+                response.setNextCursor(page.nextCursor());
+            }
+            for (Reservation reservation : page.reservations()) {
+                response.addReservations(ReservationResponse.newBuilder()
+                        .setId(reservation.getId())
+                        .setDateDebut(reservation.getDateDebut() != null ? reservation.getDateDebut().format(formatter) : "")
+                        .setDateFin(reservation.getDateFin() != null ? reservation.getDateFin().format(formatter) : "")
+                        .setPreferences(reservation.getPreferences() != null ? reservation.getPreferences() : ""));
+            }
+
+            log.info("gRPC ListReservations success: {} réservations", response.getReservationsCount());
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (DateTimeParseException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("Format de date invalide. Utilisez le format YYYY-MM-DD (ex: 2024-01-15)")
+                    .withCause(e)
+                    .asRuntimeException());
+        } catch (Exception e) {
+            log.error("Erreur lors de la lecture des réservations", e);
+            responseObserver.onError(Status.INTERNAL
+                    .withDescription("Erreur lors de la lecture des réservations: " + e.getMessage())
+                    .withCause(e)
+                    .asRuntimeException());
+        }
+    }
+
+    @Override
+    public StreamObserver<BookingCommand> bookReservations(StreamObserver<BookingAck> responseObserver) {
+        log.info("gRPC BookReservations stream opened");
+        return new BookingStreamObserver((ServerCallStreamObserver<BookingAck>) responseObserver,
+                reservationBatchService, bookingExecutor, bookingBatchSize);
+    }
 }
 
@@ -0,0 +1,223 @@
+package com.hotel.reservation.controller.grpc;
+
+import com.hotel.reservation.entity.Chambre;
+import com.hotel.reservation.entity.Client;
+import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.proto.v2.ChambreSummary;
+import com.hotel.reservation.proto.v2.ClientSummary;
+import com.hotel.reservation.proto.v2.CreateReservationRequest;
+import com.hotel.reservation.proto.v2.DeleteReservationRequest;
+import com.hotel.reservation.proto.v2.DeleteReservationResponse;
+import com.hotel.reservation.proto.v2.GetReservationRequest;
+import com.hotel.reservation.proto.v2.ListReservationsRequest;
+import com.hotel.reservation.proto.v2.ListReservationsResponse;
+import com.hotel.reservation.proto.v2.ReservationServiceV2Grpc;
+import com.hotel.reservation.proto.v2.UpdateReservationRequest;
+import com.hotel.reservation.service.ReservationConflictException;
+import com.hotel.reservation.service.ReservationPage;
+import com.hotel.reservation.service.ReservationService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * ReservationServiceV2 (reservation_v2.proto) : mêmes opérations que {@link ReservationGrpcServiceImpl},
+ * mais les dates circulent en jours depuis l'epoch et sont converties par LocalDate.ofEpochDay /
+ * toEpochDay, sans analyse ni formatage de chaînes. Les réponses portent la version de la
+ * réservation et les résumés du client et de la chambre (chargés avec la réservation).
+ */
+@Slf4j
+@GrpcService
+@Service
+@RequiredArgsConstructor
+public class ReservationGrpcServiceV2Impl extends ReservationServiceV2Grpc.ReservationServiceV2ImplBase {
+    private final ReservationService reservationService;
+
+    @Override
+    public void createReservation(CreateReservationRequest request,
+                                  StreamObserver<com.hotel.reservation.proto.v2.Reservation> responseObserver) {
+        try {
+            Reservation reservation = toEntity(date(request.hasDateDebut(), request.getDateDebut()),
+                    date(request.hasDateFin(), request.getDateFin()), request.getPreferences(),
+                    request.getClientId(), request.getChambreId());
+            Reservation created = reservationService.createReservation(reservation);
+            log.debug("gRPC v2 CreateReservation: id={}", created.getId());
+            responseObserver.onNext(toMessage(created));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus("CreateReservation", e));
+        }
+    }
+
+    @Override
+    public void getReservation(GetReservationRequest request,
+                               StreamObserver<com.hotel.reservation.proto.v2.Reservation> responseObserver) {
+        try {
+            reservationService.getReservation(request.getId()).ifPresentOrElse(
+                    reservation -> {
+                        responseObserver.onNext(toMessage(reservation));
+                        responseObserver.onCompleted();
+                    },
+                    () -> responseObserver.onError(Status.NOT_FOUND
+                            .withDescription("Réservation non trouvée avec l'ID: " + request.getId())
+                            .asRuntimeException()));
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus("GetReservation", e));
+        }
+    }
+
+    @Override
+    public void updateReservation(UpdateReservationRequest request,
+                                  StreamObserver<com.hotel.reservation.proto.v2.Reservation> responseObserver) {
+        try {
+            Reservation reservation = toEntity(date(request.hasDateDebut(), request.getDateDebut()),
+                    date(request.hasDateFin(), request.getDateFin()), request.getPreferences(),
+                    request.getClientId(), request.getChambreId());
+            Reservation updated = reservationService.updateReservation(request.getId(), reservation,
+                    request.hasExpectedVersion() ? request.getExpectedVersion() : null);
+            log.debug("gRPC v2 UpdateReservation: id={}", updated.getId());
+            responseObserver.onNext(toMessage(updated));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus("UpdateReservation", e));
+        }
+    }
+
+    @Override
+    public void deleteReservation(DeleteReservationRequest request, StreamObserver<DeleteReservationResponse> responseObserver) {
+        try {
+            reservationService.deleteReservation(request.getId(),
+                    request.hasExpectedVersion() ? request.getExpectedVersion() : null);
+            log.debug("gRPC v2 DeleteReservation: id={}", request.getId());
+            responseObserver.onNext(DeleteReservationResponse.newBuilder().setSuccess(true).build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus("DeleteReservation", e));
+        }
+    }
+
+    @Override
+    public void listReservations(ListReservationsRequest request, StreamObserver<ListReservationsResponse> responseObserver) {
+        try {
+            ReservationPage page = reservationService.getReservationPage(request.getAfter(), request.getLimit(),
+                    request.getChambreId() != 0 ? request.getChambreId() : null,
+                    date(request.hasDateFrom(), request.getDateFrom()),
+                    date(request.hasDateTo(), request.getDateTo()));
+
+            ListReservationsResponse.Builder response = ListReservationsResponse.newBuilder()
+                    .setHasNext(page.hasNext());
+            if (page.nextCursor() != null) {
+                response.setNextCursor(page.nextCursor());
+            }
+            for (Reservation reservation : page.reservations()) {
+                response.addReservations(toMessage(reservation));
+            }
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus("ListReservations", e));
+        }
+    }
+
+    static Reservation toEntity(LocalDate dateDebut, LocalDate dateFin, String preferences, long clientId, long chambreId) {
+        if (dateDebut == null) {
+            throw new IllegalArgumentException("dateDebut est requis");
+        }
+        if (dateFin == null) {
+            throw new IllegalArgumentException("dateFin est requis");
+        }
+        Reservation reservation = new Reservation();
+        reservation.setDateDebut(dateDebut);
+        reservation.setDateFin(dateFin);
+        reservation.setPreferences(preferences);
+        // Seul l'id est renseigné : ReservationService charge le client et la chambre
+        if (clientId != 0) {
+            Client client = new Client();
+            client.setId(clientId);
+            reservation.setClient(client);
+        }
+        if (chambreId != 0) {
+            Chambre chambre = new Chambre();
+            chambre.setId(chambreId);
+            reservation.setChambre(chambre);
+        }
+        return reservation;
+    }
+
+    // Date en jours depuis l'epoch ; null si le champ optional n'a pas été renseigné
+    static LocalDate date(boolean present, int epochDay) {
+        return present ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+
+    static com.hotel.reservation.proto.v2.Reservation toMessage(Reservation reservation) {
+        com.hotel.reservation.proto.v2.Reservation.Builder message = com.hotel.reservation.proto.v2.Reservation.newBuilder()
+                .setId(reservation.getId());
+        if (reservation.getDateDebut() != null) {
+            message.setDateDebut((int) reservation.getDateDebut().toEpochDay());
+        }
+        if (reservation.getDateFin() != null) {
+            message.setDateFin((int) reservation.getDateFin().toEpochDay());
+        }
+        if (reservation.getPreferences() != null) {
+            message.setPreferences(reservation.getPreferences());
+        }
+        if (reservation.getVersion() != null) {
+            message.setVersion(reservation.getVersion());
+        }
+        Client client = reservation.getClient();
+        if (client != null) {
+            ClientSummary.Builder summary = ClientSummary.newBuilder().setId(client.getId());
+            if (client.getNom() != null) {
+                summary.setNom(client.getNom());
+            }
+            if (client.getPrenom() != null) {
+                summary.setPrenom(client.getPrenom());
+            }
+            message.setClient(summary);
+        }
+        Chambre chambre = reservation.getChambre();
+        if (chambre != null) {
+            ChambreSummary.Builder summary = ChambreSummary.newBuilder().setId(chambre.getId());
+            if (chambre.getType() != null) {
+                summary.setType(chambre.getType());
+            }
+            if (chambre.getPrix() != null) {
+                summary.setPrix(chambre.getPrix());
+            }
+            message.setChambre(summary);
+        }
+        return message.build();
+    }
+
+    private static StatusRuntimeException toStatus(String operation, RuntimeException e) {
+        Status status;
+        if (e instanceof ReservationConflictException) {
+            status = Status.ALREADY_EXISTS;
+        } else if (e instanceof CannotAcquireLockException) {
+            status = Status.UNAVAILABLE;
+        } else if (e instanceof OptimisticLockingFailureException) {
+            status = Status.ABORTED;
+        } else if (e instanceof IllegalArgumentException || e instanceof DateTimeException) {
+            status = Status.INVALID_ARGUMENT;
+        } else if (e.getMessage() != null && e.getMessage().contains("non trouvé")) {
+            status = Status.NOT_FOUND;
+        } else {
+            log.error("Erreur dans gRPC v2 {}", operation, e);
+            return Status.INTERNAL
+                    .withDescription("Erreur lors de " + operation + ": " + e.getMessage())
+                    .withCause(e)
+                    .asRuntimeException();
+        }
+        log.warn("gRPC v2 {} refusée ({}): {}", operation, status.getCode(), e.getMessage());
+        return status.withDescription(e.getMessage()).asRuntimeException();
+    }
+}
@@ -0,0 +1,31 @@
+package com.hotel.reservation.controller.rest;
+
+import com.hotel.reservation.entity.Chambre;
+import com.hotel.reservation.service.ChambreService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/chambres")
+@RequiredArgsConstructor
+public class ChambreRestController {
+    private final ChambreService chambreService;
+
+    @GetMapping
+    public ResponseEntity<List<Chambre>> getAllChambres() {
+        return ResponseEntity.ok(chambreService.getAllChambres());
+    }
+
+    @GetMapping("/available")
+    public ResponseEntity<List<Chambre>> getAvailableChambres(
+            @RequestParam(required = false) String type,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(chambreService.getAvailableChambres(type, from, to));
+    }
+}
@@ -1,12 +1,34 @@
 package com.hotel.reservation.controller.rest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.service.ReservationImportReport;
+import com.hotel.reservation.service.ReservationImportService;
+import com.hotel.reservation.service.ReservationPage;
 import com.hotel.reservation.service.ReservationService;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -14,45 +36,173 @@ import java.util.Map;
 @RequestMapping("/api/reservations")
 @RequiredArgsConstructor
 public class ReservationRestController {
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
     private final ReservationService reservationService;
+    private final ReservationImportService reservationImportService;
+    private final ObjectMapper objectMapper;
+    @Value("${reservation.export.timeout:PT30M}")
+    private final Duration exportTimeout;
 
     @PostMapping
     public ResponseEntity<?> createReservation(@RequestBody Reservation reservation) {
         try {
             Reservation created = reservationService.createReservation(reservation);
-            return ResponseEntity.status(HttpStatus.CREATED).body(created);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(Map.of("error", e.getMessage()));
+            return ResponseEntity.status(HttpStatus.CREATED).eTag(eTag(created)).body(created);
+        } catch (CannotAcquireLockException e) {
+            return roomBusy(e);
         }
     }
 
+    /**
+     * Si If-None-Match correspond à l'ETag, Spring répond 304 sans sérialiser le corps ; la réservation
+     * vient du cache, la base n'est donc pas sollicitée pour une ressource inchangée.
+     */
     @GetMapping("/{id}")
     public ResponseEntity<Reservation> getReservation(@PathVariable Long id) {
         return reservationService.getReservation(id)
-                .map(ResponseEntity::ok)
+                .map(reservation -> ResponseEntity.ok().eTag(eTag(reservation)).body(reservation))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Sans limit ni after, renvoie toute la liste (filtrée le cas échéant) comme avant la pagination ;
+     * l'un ou l'autre active la pagination par curseur, 50 réservations par page par défaut.
+     */
     @GetMapping
-    public ResponseEntity<List<Reservation>> getAllReservations() {
-        return ResponseEntity.ok(reservationService.getAllReservations());
+    public ResponseEntity<List<Reservation>> getAllReservations(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long chambreId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(reservationService.getAllReservations(chambreId, from, to));
+        }
+        ReservationPage page = reservationService.getReservationPage(after, limit, chambreId, from, to);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            // Le curseur de la page suivante est transmis en en-tête pour garder un corps de type liste
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", page.nextCursor())
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            response.header("X-Next-Cursor", String.valueOf(page.nextCursor()));
+        }
+        return response.body(page.reservations());
+    }
+
+    /**
+     * Le flux pouvant durer plusieurs minutes, seul l'export a un délai propre (reservation.export.timeout) ;
+     * les autres requêtes asynchrones gardent celui par défaut.
+     */
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportReservations(
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) Long chambreId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletResponse response) {
+        response.setContentType(APPLICATION_NDJSON.toString());
+        // Une réservation JSON par ligne, écrite directement dans le flux de la réponse
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            ObjectWriter writer = objectMapper.writerFor(Reservation.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            try {
+                reservationService.exportReservations(clientId, chambreId, from, to, reservation -> {
+                    try {
+                        writer.writeValue(generator, reservation);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.flush();
+            return null;
+        });
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ReservationImportReport> importReservations(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        ReservationImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(APPLICATION_NDJSON)
+                ? ReservationImportService.Format.NDJSON
+                : ReservationImportService.Format.CSV;
+        return ResponseEntity.ok(reservationImportService.importReservations(body, format));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Reservation> updateReservation(@PathVariable Long id, @RequestBody Reservation reservation) {
+    public ResponseEntity<?> updateReservation(@PathVariable Long id, @RequestBody Reservation reservation,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Reservation updated = reservationService.updateReservation(id, reservation);
-            return ResponseEntity.ok(updated);
-        } catch (RuntimeException e) {
+            Reservation updated = reservationService.updateReservation(id, reservation, expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(eTag(updated)).body(updated);
+        } catch (OptimisticLockingFailureException e) {
+            return versionConflict(ifMatch, e);
+        } catch (CannotAcquireLockException e) {
+            return roomBusy(e);
+        } catch (EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
         }
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteReservation(@PathVariable Long id) {
-        reservationService.deleteReservation(id);
+    public ResponseEntity<?> deleteReservation(@PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            reservationService.deleteReservation(id, expectedVersion(ifMatch));
+        } catch (OptimisticLockingFailureException e) {
+            return versionConflict(ifMatch, e);
+        } catch (CannotAcquireLockException e) {
+            return roomBusy(e);
+        }
         return ResponseEntity.noContent().build();
     }
+
+    // ETag fort dérivé du @Version : client et chambre ne sont pas modifiables, la version de la
+    // réservation suffit donc à identifier la représentation
+    private static String eTag(Reservation reservation) {
+        return "\"" + reservation.getVersion() + "\"";
+    }
+
+    /**
+     * Version attendue d'après If-Match : null si l'en-tête est absent ou vaut *, -1 (jamais satisfaite)
+     * pour un ETag faible ou non reconnu, la comparaison d'If-Match étant stricte.
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    // Chambre verrouillée trop longtemps par d'autres réservations : le client peut réessayer
+    private static ResponseEntity<Map<String, String>> roomBusy(CannotAcquireLockException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", e.getMessage()));
+    }
+
+    // Avec If-Match le client a posé une précondition (412) ; sans, c'est une écriture concurrente (409)
+    private static ResponseEntity<Map<String, String>> versionConflict(String ifMatch, OptimisticLockingFailureException e) {
+        HttpStatus status = ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(Map.of("error", e.getMessage()));
+    }
 }
 
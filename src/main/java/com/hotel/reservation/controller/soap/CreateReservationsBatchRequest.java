@@ -0,0 +1,21 @@
+package com.hotel.reservation.controller.soap;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+import java.util.ArrayList;
+import java.util.List;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "", propOrder = {"reservation"}, namespace = "http://hotel.com/reservation/soap")
+@XmlRootElement(name = "createReservationsBatchRequest", namespace = "http://hotel.com/reservation/soap")
+public class CreateReservationsBatchRequest {
+    @XmlElement(required = true, namespace = "http://hotel.com/reservation/soap")
+    private List<ReservationInput> reservation = new ArrayList<>();
+
+    public List<ReservationInput> getReservation() {
+        return reservation;
+    }
+}
@@ -0,0 +1,21 @@
+package com.hotel.reservation.controller.soap;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+import java.util.ArrayList;
+import java.util.List;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "", propOrder = {"result"}, namespace = "http://hotel.com/reservation/soap")
+@XmlRootElement(name = "deleteReservationsBatchResponse", namespace = "http://hotel.com/reservation/soap")
+public class DeleteReservationsBatchResponse {
+    @XmlElement(namespace = "http://hotel.com/reservation/soap")
+    private List<ReservationBatchResult> result = new ArrayList<>();
+
+    public List<ReservationBatchResult> getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,72 @@
+package com.hotel.reservation.controller.soap;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+import jakarta.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+import java.time.LocalDate;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "", propOrder = {"after", "limit", "chambreId", "dateFrom", "dateTo"}, namespace = "http://hotel.com/reservation/soap")
+@XmlRootElement(name = "listReservationsRequest", namespace = "http://hotel.com/reservation/soap")
+public class ListReservationsRequest {
+    @XmlElement(namespace = "http://hotel.com/reservation/soap")
+    private Long after;
+    
+    @XmlElement(namespace = "http://hotel.com/reservation/soap")
+    private Integer limit;
+    
+    @XmlElement(namespace = "http://hotel.com/reservation/soap")
+    private Long chambreId;
+    
+    @XmlElement(namespace = "http://hotel.com/reservation/soap")
+    @XmlJavaTypeAdapter(LocalDateAdapter.class)
+    private LocalDate dateFrom;
+    
+    @XmlElement(namespace = "http://hotel.com/reservation/soap")
+    @XmlJavaTypeAdapter(LocalDateAdapter.class)
+    private LocalDate dateTo;
+
+    public Long getAfter() {
+        return after;
+    }
+
+    public void setAfter(Long after) {
+        this.after = after;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public Long getChambreId() {
+        return chambreId;
+    }
+
+    public void setChambreId(Long chambreId) {
+        this.chambreId = chambreId;
+    }
+
+    public LocalDate getDateFrom() {
+        return dateFrom;
+    }
+
+    public void setDateFrom(LocalDate dateFrom) {
+        this.dateFrom = dateFrom;
+    }
+
+    public LocalDate getDateTo() {
+        return dateTo;
+    }
+
+    public void setDateTo(LocalDate dateTo) {
+        this.dateTo = dateTo;
+    }
+}
+
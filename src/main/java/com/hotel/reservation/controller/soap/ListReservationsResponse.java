@@ -0,0 +1,44 @@
+package com.hotel.reservation.controller.soap;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+import java.util.ArrayList;
+import java.util.List;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "", propOrder = {"reservation", "nextCursor", "hasNext"}, namespace = "http://hotel.com/reservation/soap")
+@XmlRootElement(name = "listReservationsResponse", namespace = "http://hotel.com/reservation/soap")
+public class ListReservationsResponse {
+    @XmlElement(namespace = "http://hotel.com/reservation/soap")
+    private List<ReservationItem> reservation = new ArrayList<>();
+    
+    @XmlElement(namespace = "http://hotel.com/reservation/soap")
+    private Long nextCursor;
+    
+    @XmlElement(required = true, namespace = "http://hotel.com/reservation/soap")
+    private Boolean hasNext;
+
+    public List<ReservationItem> getReservation() {
+        return reservation;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Boolean getHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(Boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
+
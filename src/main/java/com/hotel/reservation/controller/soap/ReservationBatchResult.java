@@ -0,0 +1,76 @@
+package com.hotel.reservation.controller.soap;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlType;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "reservationBatchResult", propOrder = {"index", "success", "status", "id", "message", "reservation"}, namespace = "http://hotel.com/reservation/soap")
+public class ReservationBatchResult {
+    @XmlElement(required = true, namespace = "http://hotel.com/reservation/soap")
+    private Integer index;
+    
+    @XmlElement(required = true, namespace = "http://hotel.com/reservation/soap")
+    private Boolean success;
+    
+    @XmlElement(required = true, namespace = "http://hotel.com/reservation/soap")
+    private String status;
+    
+    @XmlElement(namespace = "http://hotel.com/reservation/soap")
+    private Long id;
+    
+    @XmlElement(namespace = "http://hotel.com/reservation/soap")
+    private String message;
+    
+    @XmlElement(namespace = "http://hotel.com/reservation/soap")
+    private ReservationItem reservation;
+
+    public Integer getIndex() {
+        return index;
+    }
+
+    public void setIndex(Integer index) {
+        this.index = index;
+    }
+
+    public Boolean getSuccess() {
+        return success;
+    }
+
+    public void setSuccess(Boolean success) {
+        this.success = success;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public ReservationItem getReservation() {
+        return reservation;
+    }
+
+    public void setReservation(ReservationItem reservation) {
+        this.reservation = reservation;
+    }
+}
@@ -1,20 +1,39 @@
 package com.hotel.reservation.controller.soap;
 
 import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.service.BookingOperation;
+import com.hotel.reservation.service.BookingResult;
+import com.hotel.reservation.service.ReservationBatchService;
+import com.hotel.reservation.service.ReservationConflictException;
+import com.hotel.reservation.service.ReservationPage;
 import com.hotel.reservation.service.ReservationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.ws.server.endpoint.annotation.Endpoint;
 import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
 import org.springframework.ws.server.endpoint.annotation.RequestPayload;
 import org.springframework.ws.server.endpoint.annotation.ResponsePayload;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
 @Slf4j
 @Endpoint
 @RequiredArgsConstructor
 public class ReservationEndpoint {
     private static final String NAMESPACE_URI = "http://hotel.com/reservation/soap";
     private final ReservationService reservationService;
+    private final ReservationBatchService reservationBatchService;
+    @Value("${reservation.soap.batch.max-size:500}")
+    private final int maxBatchSize;
 
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "createReservationRequest")
     @ResponsePayload
@@ -103,5 +122,170 @@ public class ReservationEndpoint {
         response.setSuccess(true);
         return response;
     }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "listReservationsRequest")
+    @ResponsePayload
+    public ListReservationsResponse listReservations(@RequestPayload ListReservationsRequest request) {
+        ReservationPage page = reservationService.getReservationPage(request.getAfter(), request.getLimit(),
+                request.getChambreId(), request.getDateFrom(), request.getDateTo());
+        
+        ListReservationsResponse response = new ListReservationsResponse();
+        for (Reservation reservation : page.reservations()) {
+            response.getReservation().add(toItem(reservation));
+        }
+        response.setNextCursor(page.nextCursor());
+        response.setHasNext(page.hasNext());
+        return response;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "createReservationsBatchRequest")
+    @ResponsePayload
+    public CreateReservationsBatchResponse createReservationsBatch(@RequestPayload CreateReservationsBatchRequest request) {
+        List<ReservationInput> inputs = request.getReservation();
+        checkBatchSize(inputs.size());
+        ReservationBatchResult[] results = new ReservationBatchResult[inputs.size()];
+        List<BookingOperation> operations = new ArrayList<>(inputs.size());
+        List<Integer> positions = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            ReservationInput input = inputs.get(i);
+            if (input.getDateDebut() == null || input.getDateFin() == null) {
+                results[i] = failure(i, null, new IllegalArgumentException("dateDebut et dateFin sont requis"));
+                continue;
+            }
+            Reservation reservation = new Reservation();
+            reservation.setDateDebut(input.getDateDebut());
+            reservation.setDateFin(input.getDateFin());
+            reservation.setPreferences(input.getPreferences());
+            operations.add(BookingOperation.create(reservation));
+            positions.add(i);
+        }
+        applyBatch(operations, positions, results);
+
+        CreateReservationsBatchResponse response = new CreateReservationsBatchResponse();
+        response.getResult().addAll(Arrays.asList(results));
+        return response;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getReservationsBatchRequest")
+    @ResponsePayload
+    public GetReservationsBatchResponse getReservationsBatch(@RequestPayload GetReservationsBatchRequest request) {
+        List<Long> ids = request.getId();
+        checkBatchSize(ids.size());
+        Map<Long, Reservation> reservations = reservationService.getReservations(ids.stream().filter(Objects::nonNull).toList());
+
+        GetReservationsBatchResponse response = new GetReservationsBatchResponse();
+        for (int i = 0; i < ids.size(); i++) {
+            Reservation reservation = ids.get(i) != null ? reservations.get(ids.get(i)) : null;
+            if (reservation == null) {
+                response.getResult().add(result(i, ids.get(i), false, "NOT_FOUND", "Réservation non trouvée"));
+                continue;
+            }
+            ReservationBatchResult result = result(i, reservation.getId(), true, "OK", null);
+            result.setReservation(toItem(reservation));
+            response.getResult().add(result);
+        }
+        return response;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "deleteReservationsBatchRequest")
+    @ResponsePayload
+    public DeleteReservationsBatchResponse deleteReservationsBatch(@RequestPayload DeleteReservationsBatchRequest request) {
+        List<Long> ids = request.getId();
+        checkBatchSize(ids.size());
+        ReservationBatchResult[] results = new ReservationBatchResult[ids.size()];
+        List<BookingOperation> operations = new ArrayList<>(ids.size());
+        List<Integer> positions = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                results[i] = failure(i, null, new IllegalArgumentException("id est requis"));
+                continue;
+            }
+            operations.add(BookingOperation.cancel(ids.get(i)));
+            positions.add(i);
+        }
+        applyBatch(operations, positions, results);
+
+        DeleteReservationsBatchResponse response = new DeleteReservationsBatchResponse();
+        response.getResult().addAll(Arrays.asList(results));
+        return response;
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > maxBatchSize) {
+            throw new IllegalArgumentException("Lot de " + size + " éléments, " + maxBatchSize + " au maximum");
+        }
+    }
+
+    /**
+     * Exécute les opérations valides en une transaction (voir ReservationBatchService) et place
+     * chaque résultat à la position de l'élément d'origine.
+     */
+    private void applyBatch(List<BookingOperation> operations, List<Integer> positions, ReservationBatchResult[] results) {
+        List<BookingResult> outcomes = reservationBatchService.applyBatch(operations);
+        for (int i = 0; i < outcomes.size(); i++) {
+            int index = positions.get(i);
+            BookingResult outcome = outcomes.get(i);
+            results[index] = outcome.success()
+                    ? result(index, outcome.reservationId(), true, "OK", null)
+                    : failure(index, operations.get(i).reservationId(), outcome.error());
+        }
+    }
+
+    private static ReservationBatchResult failure(int index, Long id, RuntimeException e) {
+        String status;
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        // Mêmes codes que les accusés du flux gRPC BookReservations
+        if (e instanceof ReservationConflictException) {
+            status = "ALREADY_EXISTS";
+        } else if (e instanceof DataIntegrityViolationException violation) {
+            // Donnée refusée par la base : erreur du client, sans renvoyer le SQL ni le nom de la contrainte
+            log.warn("Élément {} d'un lot SOAP refusé par une contrainte : {}", index, violation.getMostSpecificCause().getMessage());
+            status = "INVALID_ARGUMENT";
+            message = integrityMessage(e);
+        } else if (e instanceof IllegalArgumentException) {
+            status = "INVALID_ARGUMENT";
+        } else if (e instanceof CannotAcquireLockException) {
+            status = "UNAVAILABLE";
+        } else if (e instanceof OptimisticLockingFailureException) {
+            status = "ABORTED";
+        } else if (message.contains("non trouvé")) {
+            status = "NOT_FOUND";
+        } else {
+            log.error("Erreur sur l'élément {} d'un lot SOAP", index, e);
+            status = "INTERNAL";
+        }
+        return result(index, id, false, status, message);
+    }
+
+    private static String integrityMessage(RuntimeException e) {
+        String detail = String.valueOf(e.getMessage()).toUpperCase(Locale.ROOT);
+        if (detail.contains("CHAMBRE_ID")) {
+            return "La chambre spécifiée n'existe pas";
+        }
+        if (detail.contains("CLIENT_ID")) {
+            return "Le client spécifié n'existe pas";
+        }
+        return "Données refusées par une contrainte d'intégrité";
+    }
+
+    private static ReservationBatchResult result(int index, Long id, boolean success, String status, String message) {
+        ReservationBatchResult result = new ReservationBatchResult();
+        result.setIndex(index);
+        result.setSuccess(success);
+        result.setStatus(status);
+        result.setId(id);
+        result.setMessage(message);
+        return result;
+    }
+
+    private static ReservationItem toItem(Reservation reservation) {
+        ReservationItem item = new ReservationItem();
+        item.setId(reservation.getId());
+        item.setChambreId(reservation.getChambre() != null ? reservation.getChambre().getId() : null);
+        item.setDateDebut(reservation.getDateDebut());
+        item.setDateFin(reservation.getDateFin());
+        item.setPreferences(reservation.getPreferences());
+        return item;
+    }
 }
 
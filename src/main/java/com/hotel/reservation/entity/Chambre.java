@@ -1,22 +1,35 @@
 package com.hotel.reservation.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "chambres")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Chambre {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chambres_seq")
+    @SequenceGenerator(name = "chambres_seq", sequenceName = "chambres_seq", allocationSize = 50)
     private Long id;
     
     private String type;
     private Double prix;
     private Boolean disponible;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
 }
 
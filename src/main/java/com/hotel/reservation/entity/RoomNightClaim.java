@@ -0,0 +1,41 @@
+package com.hotel.reservation.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Nuit d'une chambre prise par une réservation. La contrainte d'unicité (chambre_id, night) est
+ * l'arbitre commun à toutes les instances de l'application partageant la base.
+ */
+@Entity
+@Table(name = "room_night_claims",
+        uniqueConstraints = @UniqueConstraint(name = RoomNightClaim.UNIQUE_CONSTRAINT, columnNames = {"chambre_id", "night"}),
+        indexes = @Index(name = "idx_room_night_claims_reservation", columnList = "reservation_id"))
+@Data
+@NoArgsConstructor
+public class RoomNightClaim {
+    public static final String UNIQUE_CONSTRAINT = "uk_room_night_claims_chambre_night";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "room_night_claims_seq")
+    @SequenceGenerator(name = "room_night_claims_seq", sequenceName = "room_night_claims_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "chambre_id", nullable = false)
+    private Long chambreId;
+
+    @Column(nullable = false)
+    private LocalDate night;
+
+    @Column(name = "reservation_id", nullable = false)
+    private Long reservationId;
+
+    public RoomNightClaim(Long chambreId, LocalDate night, Long reservationId) {
+        this.chambreId = chambreId;
+        this.night = night;
+        this.reservationId = reservationId;
+    }
+}
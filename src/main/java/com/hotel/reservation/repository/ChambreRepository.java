@@ -1,10 +1,33 @@
 package com.hotel.reservation.repository;
 
 import com.hotel.reservation.entity.Chambre;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Repository
 public interface ChambreRepository extends JpaRepository<Chambre, Long> {
+
+    // Résultat gardé dans le cache de requêtes Hibernate, invalidé à chaque écriture sur la table
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Chambre> findAll();
+
+    // Chambres disponibles (type en minuscules, null : tous) sans nuit réservée dans [from, to[
+    @Query("select c from Chambre c where (:type is null or lower(c.type) = :type) " +
+            "and (c.disponible is null or c.disponible = true) " +
+            "and not exists (select n.id from RoomNightClaim n where n.chambreId = c.id " +
+            "and n.night >= :from and n.night < :to) " +
+            "order by c.id")
+    List<Chambre> findUnclaimed(@Param("type") String type,
+                                @Param("from") LocalDate from,
+                                @Param("to") LocalDate to);
 }
 
@@ -1,10 +1,20 @@
 package com.hotel.reservation.repository;
 
 import com.hotel.reservation.entity.Client;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ClientRepository extends JpaRepository<Client, Long> {
+
+    // Résultat gardé dans le cache de requêtes Hibernate, invalidé à chaque écriture sur la table
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Client> findAll();
 }
 
@@ -0,0 +1,7 @@
+package com.hotel.reservation.repository;
+
+import java.time.LocalDate;
+
+public record ReservationPeriod(Long id, Long chambreId, LocalDate dateDebut, LocalDate dateFin) {
+}
+
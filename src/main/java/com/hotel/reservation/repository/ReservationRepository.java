@@ -1,10 +1,69 @@
 package com.hotel.reservation.repository;
 
 import com.hotel.reservation.entity.Reservation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+
+    // Client et chambre chargés dans la même requête (jointure) plutôt qu'un select par entité liée
+    @Override
+    @EntityGraph(attributePaths = {"client", "chambre"})
+    List<Reservation> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"client", "chambre"})
+    Optional<Reservation> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = {"client", "chambre"})
+    List<Reservation> findAllById(Iterable<Long> ids);
+
+    @Query("select new com.hotel.reservation.repository.ReservationPeriod(r.id, r.chambre.id, r.dateDebut, r.dateFin) " +
+            "from Reservation r where r.dateDebut is not null and r.dateFin is not null")
+    List<ReservationPeriod> findAllPeriods();
+
+    // Pagination par clé : on repart de l'id du dernier élément vu, sans OFFSET
+    @EntityGraph(attributePaths = {"client", "chambre"})
+    @Query("select r from Reservation r left join r.chambre c where r.id > :after " +
+            "and (:chambreId is null or c.id = :chambreId) " +
+            "and (:dateFrom is null or r.dateFin > :dateFrom) " +
+            "and (:dateTo is null or r.dateDebut < :dateTo) " +
+            "order by r.id")
+    List<Reservation> findPageAfter(@Param("after") long after,
+                                    @Param("chambreId") Long chambreId,
+                                    @Param("dateFrom") LocalDate dateFrom,
+                                    @Param("dateTo") LocalDate dateTo,
+                                    Pageable pageable);
+
+    // Lecture en flux pour l'export : curseur JDBC lu par lots, entités en lecture seule
+    // (avec MySQL, ajouter useCursorFetch=true à l'URL pour que la taille de lot soit respectée)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select r from Reservation r left join fetch r.client cl left join fetch r.chambre c " +
+            "where (:clientId is null or cl.id = :clientId) " +
+            "and (:chambreId is null or c.id = :chambreId) " +
+            "and (:dateFrom is null or r.dateFin > :dateFrom) " +
+            "and (:dateTo is null or r.dateDebut < :dateTo) " +
+            "order by r.id")
+    Stream<Reservation> streamForExport(@Param("clientId") Long clientId,
+                                        @Param("chambreId") Long chambreId,
+                                        @Param("dateFrom") LocalDate dateFrom,
+                                        @Param("dateTo") LocalDate dateTo);
 }
 
@@ -0,0 +1,16 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.entity.RoomNightClaim;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RoomNightClaimRepository extends JpaRepository<RoomNightClaim, Long> {
+
+    @Modifying
+    @Query("delete from RoomNightClaim c where c.reservationId = :reservationId")
+    int deleteByReservationId(@Param("reservationId") Long reservationId);
+}
@@ -0,0 +1,25 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.entity.Reservation;
+
+public record BookingOperation(Type type, Long reservationId, Reservation reservation) {
+
+    public enum Type {
+        CREATE,
+        UPDATE,
+        CANCEL
+    }
+
+    public static BookingOperation create(Reservation reservation) {
+        return new BookingOperation(Type.CREATE, null, reservation);
+    }
+
+    public static BookingOperation update(Long reservationId, Reservation reservation) {
+        return new BookingOperation(Type.UPDATE, reservationId, reservation);
+    }
+
+    public static BookingOperation cancel(Long reservationId) {
+        return new BookingOperation(Type.CANCEL, reservationId, null);
+    }
+}
+
@@ -0,0 +1,13 @@
+package com.hotel.reservation.service;
+
+public record BookingResult(boolean success, Long reservationId, RuntimeException error) {
+
+    public static BookingResult success(Long reservationId) {
+        return new BookingResult(true, reservationId, null);
+    }
+
+    public static BookingResult failure(RuntimeException error) {
+        return new BookingResult(false, null, error);
+    }
+}
+
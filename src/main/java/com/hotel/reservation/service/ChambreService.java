@@ -5,6 +5,8 @@ import com.hotel.reservation.repository.ChambreRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,17 +14,28 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class ChambreService {
     private final ChambreRepository chambreRepository;
+    private final RoomOccupancyIndex roomOccupancyIndex;
 
     public Chambre createChambre(Chambre chambre) {
-        return chambreRepository.save(chambre);
+        Chambre saved = chambreRepository.save(chambre);
+        roomOccupancyIndex.addChambre(saved);
+        return saved;
     }
 
     public Optional<Chambre> getChambre(Long id) {
         return chambreRepository.findById(id);
     }
 
+    public List<Chambre> getChambres(Collection<Long> ids) {
+        return chambreRepository.findAllById(ids);
+    }
+
     public List<Chambre> getAllChambres() {
         return chambreRepository.findAll();
     }
+
+    public List<Chambre> getAvailableChambres(String type, LocalDate from, LocalDate to) {
+        return roomOccupancyIndex.findAvailable(type, from, to);
+    }
 }
 
@@ -5,6 +5,7 @@ import com.hotel.reservation.repository.ClientRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +22,10 @@ public class ClientService {
         return clientRepository.findById(id);
     }
 
+    public List<Client> getClients(Collection<Long> ids) {
+        return clientRepository.findAllById(ids);
+    }
+
     public List<Client> getAllClients() {
         return clientRepository.findAll();
     }
@@ -0,0 +1,84 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Slf4j
+@Service
+public class ReservationBatchService {
+    private final ReservationService reservationService;
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ReservationBatchService(ReservationService reservationService, ReservationRepository reservationRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.reservationService = reservationService;
+        this.reservationRepository = reservationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Applique un lot d'opérations dans une seule transaction. Si une opération échoue, le lot est
+     * annulé puis rejoué opération par opération pour isoler l'erreur sans perdre les autres.
+     */
+    public List<BookingResult> applyBatch(List<BookingOperation> operations) {
+        if (operations.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                preload(operations);
+                return operations.stream().map(this::apply).toList();
+            });
+        } catch (RuntimeException e) {
+            log.debug("Lot de {} opérations annulé ({}), rejeu unitaire", operations.size(), e.getMessage());
+        }
+        List<BookingResult> results = new ArrayList<>(operations.size());
+        for (BookingOperation operation : operations) {
+            try {
+                results.add(transactionTemplate.execute(status -> apply(operation)));
+            } catch (RuntimeException e) {
+                results.add(BookingResult.failure(e));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Charge en une requête les réservations modifiées ou annulées par le lot : les findById de
+     * ReservationService les trouvent ensuite dans le contexte de persistance.
+     */
+    private void preload(List<BookingOperation> operations) {
+        List<Long> ids = operations.stream()
+                .filter(operation -> operation.type() != BookingOperation.Type.CREATE)
+                .map(BookingOperation::reservationId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (ids.size() > 1) {
+            reservationRepository.findAllById(ids);
+        }
+    }
+
+    private BookingResult apply(BookingOperation operation) {
+        switch (operation.type()) {
+            case CREATE:
+                return BookingResult.success(reservationService.createReservation(operation.reservation()).getId());
+            case UPDATE:
+                return BookingResult.success(reservationService.updateReservation(operation.reservationId(), operation.reservation()).getId());
+            case CANCEL:
+                reservationService.deleteReservation(operation.reservationId());
+                return BookingResult.success(operation.reservationId());
+            default:
+                throw new IllegalArgumentException("Opération inconnue: " + operation.type());
+        }
+    }
+}
+
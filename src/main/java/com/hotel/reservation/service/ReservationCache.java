@@ -0,0 +1,85 @@
+package com.hotel.reservation.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.repository.ReservationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache en lecture des réservations par id, partagé par REST, SOAP, GraphQL et gRPC via
+ * {@link ReservationService#getReservation}. Les défauts simultanés sur un même id ne déclenchent
+ * qu'un seul chargement ; les ids absents ne sont pas mis en cache (un id peut être créé ensuite).
+ * <p>
+ * Quand la base est partagée ({@link RoomNightClaims#isEnabled()}), les invalidations d'une instance
+ * n'atteignent pas les autres : les lectures vont alors directement en base.
+ */
+@Component
+public class ReservationCache {
+    private final ReservationRepository reservationRepository;
+    private final RoomNightClaims roomNightClaims;
+    private final LoadingCache<Long, Reservation> reservations;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ReservationCache(ReservationRepository reservationRepository,
+                            RoomNightClaims roomNightClaims,
+                            MeterRegistry meterRegistry,
+                            @Value("${reservation.cache.reservations.max-size:10000}") long maxSize,
+                            @Value("${reservation.cache.reservations.ttl:PT5M}") Duration ttl) {
+        this.reservationRepository = reservationRepository;
+        this.roomNightClaims = roomNightClaims;
+        this.reservations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                // Cache chargeant : CaffeineCacheMetrics publie alors aussi cache.load et cache.load.duration
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, reservations, "reservations");
+    }
+
+    public Optional<Reservation> get(Long id) {
+        if (roomNightClaims.isEnabled()) {
+            return Optional.ofNullable(load(id));
+        }
+        return Optional.ofNullable(reservations.get(id));
+    }
+
+    private Reservation load(Long id) {
+        Reservation reservation = reservationRepository.findById(id).orElse(null);
+        // L'instance partagée ne doit pas rester attachée au contexte de persistance de la requête
+        // (open-in-view) : une mise à jour dans cette même requête la modifierait avant le commit
+        if (reservation != null && entityManager.contains(reservation)) {
+            entityManager.detach(reservation);
+        }
+        return reservation;
+    }
+
+    /**
+     * Invalide immédiatement puis de nouveau à la fin de la transaction : une lecture concurrente
+     * a pu recharger l'ancienne version avant le commit.
+     */
+    public void invalidate(Long id) {
+        reservations.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    reservations.invalidate(id);
+                }
+            });
+        }
+    }
+}
+
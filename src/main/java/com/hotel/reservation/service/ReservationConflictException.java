@@ -0,0 +1,33 @@
+package com.hotel.reservation.service;
+
+public class ReservationConflictException extends RuntimeException {
+    private final Long chambreId;
+    private final Long conflictingReservationId;
+
+    public ReservationConflictException(Long chambreId, Long conflictingReservationId) {
+        super("La chambre " + chambreId + " est déjà réservée sur cette période (réservation " + conflictingReservationId + ")");
+        this.chambreId = chambreId;
+        this.conflictingReservationId = conflictingReservationId;
+    }
+
+    /**
+     * Conflit détecté par la base (nuit déjà prise, éventuellement par une autre instance) :
+     * la réservation en conflit n'est pas connue.
+     */
+    public ReservationConflictException(Long chambreId) {
+        super(chambreId != null
+                ? "La chambre " + chambreId + " est déjà réservée sur cette période"
+                : "Une chambre est déjà réservée sur cette période");
+        this.chambreId = chambreId;
+        this.conflictingReservationId = null;
+    }
+
+    public Long getChambreId() {
+        return chambreId;
+    }
+
+    public Long getConflictingReservationId() {
+        return conflictingReservationId;
+    }
+}
+
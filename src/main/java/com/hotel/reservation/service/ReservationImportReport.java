@@ -0,0 +1,13 @@
+package com.hotel.reservation.service;
+
+import java.util.List;
+
+/**
+ * Bilan d'un import : seules les {@value ReservationImportService#MAX_REPORTED_ERRORS} premières erreurs sont détaillées.
+ */
+public record ReservationImportReport(long rows, long imported, long failed, long elapsedMillis, List<RowError> errors) {
+
+    public record RowError(long line, String error) {
+    }
+}
+
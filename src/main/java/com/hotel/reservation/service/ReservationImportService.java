@@ -0,0 +1,321 @@
+package com.hotel.reservation.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.reservation.entity.Chambre;
+import com.hotel.reservation.entity.Client;
+import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.repository.ChambreRepository;
+import com.hotel.reservation.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Import en masse de réservations depuis un fichier CSV ou NDJSON, lu en flux.
+ * Les lignes sont traitées par paquets : une transaction, deux requêtes pour résoudre clients et
+ * chambres, puis des INSERT envoyés en batch JDBC (identifiants pré-alloués par séquence).
+ * Une ligne invalide est rapportée sans interrompre l'import ; si un paquet échoue en base,
+ * il est rejoué ligne par ligne.
+ */
+@Slf4j
+@Service
+public class ReservationImportService {
+    public static final int MAX_REPORTED_ERRORS = 1000;
+    private static final String[] CSV_COLUMNS = {"clientId", "chambreId", "dateDebut", "dateFin", "preferences"};
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private record ImportRow(long line, Long clientId, Long chambreId, LocalDate dateDebut, LocalDate dateFin,
+                             String preferences) {
+    }
+
+    private final ReservationService reservationService;
+    private final ReservationIntervalIndex reservationIntervalIndex;
+    private final RoomLocks roomLocks;
+    private final RoomNightClaims roomNightClaims;
+    private final ClientRepository clientRepository;
+    private final ChambreRepository chambreRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ReservationImportService(ReservationService reservationService,
+                                    ReservationIntervalIndex reservationIntervalIndex,
+                                    RoomLocks roomLocks,
+                                    RoomNightClaims roomNightClaims,
+                                    ClientRepository clientRepository,
+                                    ChambreRepository chambreRepository,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${reservation.import.chunk-size:1000}") int chunkSize) {
+        this.reservationService = reservationService;
+        this.reservationIntervalIndex = reservationIntervalIndex;
+        this.roomLocks = roomLocks;
+        this.roomNightClaims = roomNightClaims;
+        this.clientRepository = clientRepository;
+        this.chambreRepository = chambreRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public ReservationImportReport importReservations(InputStream input, Format format) throws IOException {
+        long startNanos = System.nanoTime();
+        Progress progress = new Progress();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (format == Format.CSV && lineNumber == 1 && isCsvHeader(line))) {
+                continue;
+            }
+            progress.rows++;
+            try {
+                chunk.add(format == Format.CSV ? parseCsv(line, lineNumber) : parseJson(line, lineNumber));
+            } catch (RuntimeException | IOException e) {
+                progress.fail(lineNumber, e);
+            }
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, progress);
+        }
+
+        progress.errors.sort(Comparator.comparingLong(ReservationImportReport.RowError::line));
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("Import {} terminé: {} lignes, {} importées, {} en erreur en {} ms",
+                format, progress.rows, progress.imported, progress.failed, elapsedMillis);
+        return new ReservationImportReport(progress.rows, progress.imported, progress.failed, elapsedMillis, progress.errors);
+    }
+
+    private void importChunk(List<ImportRow> rows, Progress progress) {
+        try {
+            List<ReservationImportReport.RowError> errors = transactionTemplate.execute(status -> persist(rows));
+            progress.imported += rows.size() - errors.size();
+            errors.forEach(progress::fail);
+            return;
+        } catch (RuntimeException e) {
+            log.debug("Paquet de {} lignes annulé ({}), rejeu ligne par ligne", rows.size(), e.getMessage());
+        }
+        for (ImportRow row : rows) {
+            try {
+                List<ReservationImportReport.RowError> errors = transactionTemplate.execute(status -> persist(List.of(row)));
+                if (errors.isEmpty()) {
+                    progress.imported++;
+                } else {
+                    errors.forEach(progress::fail);
+                }
+            } catch (RuntimeException e) {
+                progress.fail(row.line(), e);
+            }
+        }
+    }
+
+    /**
+     * Persiste un paquet dans la transaction courante et retourne les lignes refusées.
+     */
+    private List<ReservationImportReport.RowError> persist(List<ImportRow> rows) {
+        Map<Long, Client> clients = clientRepository.findAllById(ids(rows, ImportRow::clientId)).stream()
+                .collect(Collectors.toMap(Client::getId, Function.identity()));
+        Map<Long, Chambre> chambres = chambreRepository.findAllById(ids(rows, ImportRow::chambreId)).stream()
+                .collect(Collectors.toMap(Chambre::getId, Function.identity()));
+        roomLocks.lock(chambres.keySet());
+
+        List<ReservationImportReport.RowError> errors = new ArrayList<>();
+        for (ImportRow row : rows) {
+            Reservation reservation;
+            try {
+                reservation = toReservation(row, clients, chambres);
+            } catch (IllegalArgumentException | ReservationConflictException e) {
+                errors.add(new ReservationImportReport.RowError(row.line(), e.getMessage()));
+                continue;
+            }
+            // L'identifiant est pris dans le bloc pré-alloué : aucun aller-retour avant le flush
+            entityManager.persist(reservation);
+            reservationService.indexReservation(reservation);
+            roomNightClaims.claim(reservation);
+        }
+        // Au rejeu ligne par ligne, le conflit détecté par la base est rattaché à sa chambre
+        roomNightClaims.flush(rows.size() == 1 ? rows.get(0).chambreId() : null);
+        entityManager.flush();
+        entityManager.clear();
+        return errors;
+    }
+
+    private Reservation toReservation(ImportRow row, Map<Long, Client> clients, Map<Long, Chambre> chambres) {
+        if (row.dateDebut() == null || row.dateFin() == null) {
+            throw new IllegalArgumentException("dateDebut et dateFin sont requises");
+        }
+        if (!row.dateFin().isAfter(row.dateDebut())) {
+            throw new IllegalArgumentException("dateFin doit être postérieure à dateDebut");
+        }
+        Reservation reservation = new Reservation();
+        if (row.clientId() != null) {
+            Client client = clients.get(row.clientId());
+            if (client == null) {
+                throw new IllegalArgumentException("Client non trouvé avec l'ID: " + row.clientId());
+            }
+            reservation.setClient(client);
+        }
+        if (row.chambreId() != null) {
+            Chambre chambre = chambres.get(row.chambreId());
+            if (chambre == null) {
+                throw new IllegalArgumentException("Chambre non trouvée avec l'ID: " + row.chambreId());
+            }
+            reservationIntervalIndex.checkAvailability(chambre.getId(), row.dateDebut(), row.dateFin(), null);
+            reservation.setChambre(chambre);
+        }
+        reservation.setDateDebut(row.dateDebut());
+        reservation.setDateFin(row.dateFin());
+        reservation.setPreferences(row.preferences());
+        return reservation;
+    }
+
+    private static Set<Long> ids(List<ImportRow> rows, Function<ImportRow, Long> id) {
+        Set<Long> ids = new HashSet<>();
+        for (ImportRow row : rows) {
+            if (id.apply(row) != null) {
+                ids.add(id.apply(row));
+            }
+        }
+        return ids;
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.trim().startsWith(CSV_COLUMNS[0]);
+    }
+
+    /**
+     * Colonnes : clientId,chambreId,dateDebut,dateFin,preferences. Les champs peuvent être entre
+     * guillemets (guillemet doublé pour l'échapper) mais ne peuvent pas contenir de retour à la ligne.
+     */
+    private static ImportRow parseCsv(String line, long lineNumber) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() < 4 || fields.size() > CSV_COLUMNS.length) {
+            throw new IllegalArgumentException("Ligne CSV invalide: " + CSV_COLUMNS.length + " colonnes attendues ("
+                    + String.join(",", CSV_COLUMNS) + ")");
+        }
+        return new ImportRow(lineNumber,
+                parseId(fields.get(0)),
+                parseId(fields.get(1)),
+                parseDate(fields.get(2)),
+                parseDate(fields.get(3)),
+                fields.size() > 4 ? fields.get(4) : null);
+    }
+
+    private ImportRow parseJson(String line, long lineNumber) throws IOException {
+        JsonNode node = objectMapper.readTree(line);
+        return new ImportRow(lineNumber,
+                parseId(text(node, "clientId")),
+                parseId(text(node, "chambreId")),
+                parseDate(text(node, "dateDebut")),
+                parseDate(text(node, "dateFin")),
+                text(node, "preferences"));
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static Long parseId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Identifiant invalide: " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Format de date invalide: " + value + " (YYYY-MM-DD attendu)");
+        }
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static final class Progress {
+        long rows;
+        long imported;
+        long failed;
+        final List<ReservationImportReport.RowError> errors = new ArrayList<>();
+
+        void fail(long line, Exception e) {
+            fail(new ReservationImportReport.RowError(line, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
+        }
+
+        void fail(ReservationImportReport.RowError error) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+    }
+}
+
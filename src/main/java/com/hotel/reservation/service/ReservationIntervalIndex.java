@@ -0,0 +1,200 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.repository.ReservationPeriod;
+import com.hotel.reservation.repository.ReservationRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index en mémoire des séjours par chambre, utilisé pour refuser les doubles réservations
+ * sans interroger la base. Chargé au démarrage puis tenu à jour par {@link ReservationService}.
+ * <p>
+ * Inactif quand la base est partagée ({@link RoomNightClaims#isEnabled()}) : il ignorerait les
+ * écritures des autres instances. Seules les dates sont alors vérifiées, les conflits étant
+ * refusés par la contrainte d'unicité des nuits réservées.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationIntervalIndex {
+    private final ReservationRepository reservationRepository;
+    private final RoomNightClaims roomNightClaims;
+
+    private final Map<Long, RoomIndex> rooms = new ConcurrentHashMap<>();
+    private final Map<Long, ReservationPeriod> periods = new ConcurrentHashMap<>();
+
+    private static final class RoomIndex {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final RoomIntervalTree tree = new RoomIntervalTree();
+    }
+
+    @PostConstruct
+    void load() {
+        if (roomNightClaims.isEnabled()) {
+            log.info("Index des réservations inactif: disponibilité vérifiée en base (reservation.claims.enabled)");
+            return;
+        }
+        long startNanos = System.nanoTime();
+        for (ReservationPeriod period : reservationRepository.findAllPeriods()) {
+            if (isIndexable(period)) {
+                RoomIndex room = room(period.chambreId());
+                room.tree.insert(period.dateDebut().toEpochDay(), period.dateFin().toEpochDay(), period.id());
+                periods.put(period.id(), period);
+            }
+        }
+        log.info("Index des réservations chargé: {} séjours sur {} chambres en {} ms",
+                periods.size(), rooms.size(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Vérifie que [dateDebut, dateFin[ est libre dans la chambre, en ignorant la réservation excludeId.
+     */
+    public void checkAvailability(Long chambreId, LocalDate dateDebut, LocalDate dateFin, Long excludeId) {
+        validatePeriod(dateDebut, dateFin);
+        RoomIndex room = rooms.get(chambreId);
+        if (room == null) {
+            return;
+        }
+        room.lock.readLock().lock();
+        try {
+            long conflict = room.tree.findOverlap(dateDebut.toEpochDay(), dateFin.toEpochDay(), excludeOf(excludeId));
+            if (conflict != RoomIntervalTree.NONE) {
+                throw new ReservationConflictException(chambreId, conflict);
+            }
+        } finally {
+            room.lock.readLock().unlock();
+        }
+    }
+
+    public boolean isAvailable(Long chambreId, LocalDate dateDebut, LocalDate dateFin) {
+        RoomIndex room = rooms.get(chambreId);
+        if (room == null) {
+            return true;
+        }
+        room.lock.readLock().lock();
+        try {
+            return room.tree.findOverlap(dateDebut.toEpochDay(), dateFin.toEpochDay(), RoomIntervalTree.NONE) == RoomIntervalTree.NONE;
+        } finally {
+            room.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Enregistre (ou déplace) le séjour d'une réservation après vérification atomique de la disponibilité.
+     * Retourne le séjour précédemment indexé pour cette réservation, ou null.
+     */
+    public ReservationPeriod reserve(ReservationPeriod period) {
+        if (period.chambreId() == null) {
+            return release(period.id());
+        }
+        validatePeriod(period.dateDebut(), period.dateFin());
+        if (roomNightClaims.isEnabled()) {
+            return null;
+        }
+        RoomIndex room = room(period.chambreId());
+        ReservationPeriod previous;
+        room.lock.writeLock().lock();
+        try {
+            long start = period.dateDebut().toEpochDay();
+            long end = period.dateFin().toEpochDay();
+            long conflict = room.tree.findOverlap(start, end, period.id());
+            if (conflict != RoomIntervalTree.NONE) {
+                throw new ReservationConflictException(period.chambreId(), conflict);
+            }
+            previous = periods.put(period.id(), period);
+            if (previous != null && previous.chambreId().equals(period.chambreId())) {
+                room.tree.remove(previous.dateDebut().toEpochDay(), previous.dateFin().toEpochDay(), previous.id());
+            }
+            room.tree.insert(start, end, period.id());
+        } finally {
+            room.lock.writeLock().unlock();
+        }
+        if (previous != null && !previous.chambreId().equals(period.chambreId())) {
+            removeFromRoom(previous);
+        }
+        return previous;
+    }
+
+    /**
+     * Retire le séjour d'une réservation de l'index et le retourne, ou null s'il n'était pas indexé.
+     */
+    public ReservationPeriod release(Long reservationId) {
+        ReservationPeriod previous = periods.remove(reservationId);
+        if (previous != null) {
+            removeFromRoom(previous);
+        }
+        return previous;
+    }
+
+    /**
+     * Rétablit l'état d'une réservation dans l'index (annulation d'une écriture après rollback).
+     */
+    public void restore(Long reservationId, ReservationPeriod previous) {
+        release(reservationId);
+        if (previous != null) {
+            RoomIndex room = room(previous.chambreId());
+            room.lock.writeLock().lock();
+            try {
+                room.tree.insert(previous.dateDebut().toEpochDay(), previous.dateFin().toEpochDay(), previous.id());
+                periods.put(previous.id(), previous);
+            } finally {
+                room.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Chambre du séjour indexé pour cette réservation, ou null.
+     */
+    public Long chambreOf(Long reservationId) {
+        ReservationPeriod period = periods.get(reservationId);
+        return period != null ? period.chambreId() : null;
+    }
+
+    public int size() {
+        return periods.size();
+    }
+
+    private void removeFromRoom(ReservationPeriod period) {
+        RoomIndex room = rooms.get(period.chambreId());
+        if (room == null) {
+            return;
+        }
+        room.lock.writeLock().lock();
+        try {
+            room.tree.remove(period.dateDebut().toEpochDay(), period.dateFin().toEpochDay(), period.id());
+        } finally {
+            room.lock.writeLock().unlock();
+        }
+    }
+
+    private RoomIndex room(Long chambreId) {
+        return rooms.computeIfAbsent(chambreId, id -> new RoomIndex());
+    }
+
+    private static long excludeOf(Long excludeId) {
+        return excludeId != null ? excludeId : RoomIntervalTree.NONE;
+    }
+
+    private static boolean isIndexable(ReservationPeriod period) {
+        return period.chambreId() != null && period.dateDebut() != null && period.dateFin() != null
+                && period.dateFin().isAfter(period.dateDebut());
+    }
+
+    private static void validatePeriod(LocalDate dateDebut, LocalDate dateFin) {
+        if (dateDebut == null || dateFin == null) {
+            throw new IllegalArgumentException("dateDebut et dateFin sont requises pour réserver une chambre");
+        }
+        if (!dateFin.isAfter(dateDebut)) {
+            throw new IllegalArgumentException("dateFin doit être postérieure à dateDebut");
+        }
+    }
+}
+
@@ -0,0 +1,9 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.entity.Reservation;
+
+import java.util.List;
+
+public record ReservationPage(List<Reservation> reservations, Long nextCursor, boolean hasNext) {
+}
+
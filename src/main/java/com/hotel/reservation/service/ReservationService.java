@@ -5,20 +5,51 @@ import com.hotel.reservation.entity.Client;
 import com.hotel.reservation.entity.Reservation;
 import com.hotel.reservation.repository.ChambreRepository;
 import com.hotel.reservation.repository.ClientRepository;
+import com.hotel.reservation.repository.ReservationPeriod;
 import com.hotel.reservation.repository.ReservationRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ReservationService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    private static final int EXPORT_CLEAR_INTERVAL = 1000;
+    private static final Object COMPENSATIONS_KEY = ReservationService.class.getName() + ".compensations";
+
     private final ReservationRepository reservationRepository;
     private final ClientRepository clientRepository;
     private final ChambreRepository chambreRepository;
+    private final ReservationIntervalIndex reservationIntervalIndex;
+    private final RoomOccupancyIndex roomOccupancyIndex;
+    private final ReservationCache reservationCache;
+    private final RoomLocks roomLocks;
+    private final RoomNightClaims roomNightClaims;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Transactional
     public Reservation createReservation(Reservation reservation) {
@@ -33,23 +64,90 @@ public class ReservationService {
             Chambre chambre = chambreRepository.findById(reservation.getChambre().getId())
                     .orElseThrow(() -> new RuntimeException("Chambre non trouvée avec l'ID: " + reservation.getChambre().getId()));
             reservation.setChambre(chambre);
+            // Tenu jusqu'au commit : vérification et insertion ne s'entrelacent pas avec une autre écriture sur la chambre
+            roomLocks.lock(chambre.getId());
+            reservationIntervalIndex.checkAvailability(chambre.getId(), reservation.getDateDebut(), reservation.getDateFin(), null);
         }
         
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+        indexReservation(saved);
+        roomNightClaims.claim(saved);
+        roomNightClaims.flush(saved.getChambre() != null ? saved.getChambre().getId() : null);
+        return saved;
     }
 
     public Optional<Reservation> getReservation(Long id) {
-        return reservationRepository.findById(id);
+        return reservationCache.get(id);
+    }
+
+    /**
+     * Réservations d'une liste d'ids, lues en une seule requête ; les ids inconnus sont absents du résultat.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Reservation> getReservations(Collection<Long> ids) {
+        Map<Long, Reservation> reservations = new HashMap<>();
+        for (Reservation reservation : reservationRepository.findAllById(ids)) {
+            reservations.put(reservation.getId(), reservation);
+        }
+        return reservations;
     }
 
     public List<Reservation> getAllReservations() {
         return reservationRepository.findAll();
     }
 
+    /**
+     * Réservations correspondant aux filtres (tous facultatifs), sans pagination, par id croissant.
+     */
+    public List<Reservation> getAllReservations(Long chambreId, LocalDate dateFrom, LocalDate dateTo) {
+        return reservationRepository.findPageAfter(0L, chambreId, dateFrom, dateTo, Pageable.unpaged());
+    }
+
+    public ReservationPage getReservationPage(Long after, Integer limit, Long chambreId, LocalDate dateFrom, LocalDate dateTo) {
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        // On lit un élément de plus pour savoir s'il existe une page suivante sans requête de comptage
+        List<Reservation> rows = reservationRepository.findPageAfter(after != null ? after : 0L,
+                chambreId, dateFrom, dateTo, PageRequest.of(0, pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        List<Reservation> reservations = hasNext ? rows.subList(0, pageSize) : rows;
+        Long nextCursor = hasNext ? reservations.get(reservations.size() - 1).getId() : null;
+        return new ReservationPage(reservations, nextCursor, hasNext);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportReservations(Long clientId, Long chambreId, LocalDate dateFrom, LocalDate dateTo,
+                                   Consumer<Reservation> sink) {
+        long count = 0;
+        try (Stream<Reservation> reservations = reservationRepository.streamForExport(clientId, chambreId, dateFrom, dateTo)) {
+            Iterator<Reservation> iterator = reservations.iterator();
+            while (iterator.hasNext()) {
+                Reservation reservation = iterator.next();
+                sink.accept(reservation);
+                entityManager.detach(reservation);
+                // Vider régulièrement le contexte de persistance pour garder une mémoire constante
+                if (++count % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+
     @Transactional
     public Reservation updateReservation(Long id, Reservation reservation) {
+        return updateReservation(id, reservation, null);
+    }
+
+    /**
+     * Met à jour la réservation si sa version courante vaut expectedVersion (null : pas de vérification).
+     * Une écriture concurrente validée entre la lecture et le commit est détectée par le @Version.
+     */
+    @Transactional
+    public Reservation updateReservation(Long id, Reservation reservation, Long expectedVersion) {
         Reservation existingReservation = reservationRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Réservation non trouvée"));
+                .orElseThrow(() -> new EntityNotFoundException("Réservation non trouvée: " + id));
+        checkVersion(existingReservation, expectedVersion);
+        Long previousChambreId = existingReservation.getChambre() != null ? existingReservation.getChambre().getId() : null;
         
         // Charger les entités Client et Chambre par ID si elles existent
         if (reservation.getClient() != null && reservation.getClient().getId() != null) {
@@ -64,15 +162,103 @@ public class ReservationService {
             existingReservation.setChambre(chambre);
         }
         
+        if (existingReservation.getChambre() != null) {
+            roomLocks.lock(previousChambreId, existingReservation.getChambre().getId());
+            reservationIntervalIndex.checkAvailability(existingReservation.getChambre().getId(),
+                    reservation.getDateDebut(), reservation.getDateFin(), id);
+        }
+        
         existingReservation.setDateDebut(reservation.getDateDebut());
         existingReservation.setDateFin(reservation.getDateFin());
         existingReservation.setPreferences(reservation.getPreferences());
         
-        return reservationRepository.save(existingReservation);
+        Reservation saved = reservationRepository.save(existingReservation);
+        indexReservation(saved);
+        roomNightClaims.reclaim(saved);
+        roomNightClaims.flush(saved.getChambre() != null ? saved.getChambre().getId() : null);
+        reservationCache.invalidate(id);
+        return saved;
     }
 
+    @Transactional
     public void deleteReservation(Long id) {
-        reservationRepository.deleteById(id);
+        deleteReservation(id, null);
+    }
+
+    @Transactional
+    public void deleteReservation(Long id, Long expectedVersion) {
+        roomLocks.lock(reservationIntervalIndex.chambreOf(id));
+        if (expectedVersion == null) {
+            reservationRepository.deleteById(id);
+        } else {
+            // Une précondition sur une réservation absente échoue, comme pour une version différente
+            Reservation existingReservation = reservationRepository.findById(id)
+                    .orElseThrow(() -> new OptimisticLockingFailureException("Réservation non trouvée: " + id));
+            checkVersion(existingReservation, expectedVersion);
+            reservationRepository.delete(existingReservation);
+        }
+        roomNightClaims.release(id);
+        reservationCache.invalidate(id);
+        ReservationPeriod previous = reservationIntervalIndex.release(id);
+        roomOccupancyIndex.move(previous, null);
+        onRollback(() -> {
+            reservationIntervalIndex.restore(id, previous);
+            roomOccupancyIndex.move(null, previous);
+        });
+    }
+
+    private static void checkVersion(Reservation reservation, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(reservation.getVersion())) {
+            throw new OptimisticLockingFailureException("La réservation " + reservation.getId()
+                    + " a été modifiée (version " + reservation.getVersion() + ", attendue " + expectedVersion + ")");
+        }
+    }
+
+    void indexReservation(Reservation reservation) {
+        ReservationPeriod period = new ReservationPeriod(reservation.getId(),
+                reservation.getChambre() != null ? reservation.getChambre().getId() : null,
+                reservation.getDateDebut(), reservation.getDateFin());
+        // La vérification est refaite sous verrou : deux écritures concurrentes ne peuvent pas toutes deux passer
+        ReservationPeriod previous = reservationIntervalIndex.reserve(period);
+        roomOccupancyIndex.move(previous, period);
+        onRollback(() -> {
+            reservationIntervalIndex.restore(period.id(), previous);
+            roomOccupancyIndex.move(period, previous);
+        });
+    }
+
+    /**
+     * Enregistre une compensation de l'index à exécuter si la transaction courante est annulée.
+     * Les compensations d'une même transaction sont rejouées en ordre inverse (LIFO), ce qui
+     * rétablit l'état initial même quand un lot modifie plusieurs fois la même réservation.
+     */
+    private static void onRollback(Runnable compensation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Deque<Runnable> compensations = (Deque<Runnable>) TransactionSynchronizationManager.getResource(COMPENSATIONS_KEY);
+        if (compensations == null) {
+            Deque<Runnable> stack = new ArrayDeque<>();
+            TransactionSynchronizationManager.bindResource(COMPENSATIONS_KEY, stack);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // Avant la libération des verrous de chambre (RoomLocks)
+                @Override
+                public int getOrder() {
+                    return HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(COMPENSATIONS_KEY);
+                    if (status != STATUS_COMMITTED) {
+                        stack.forEach(Runnable::run);
+                    }
+                }
+            });
+            compensations = stack;
+        }
+        compensations.push(compensation);
     }
 }
 
@@ -0,0 +1,186 @@
+package com.hotel.reservation.service;
+
+/**
+ * Arbre d'intervalles augmenté (AVL) des séjours d'une chambre.
+ * Les intervalles sont semi-ouverts [debut, fin[ en jours epoch : le jour de départ est libre.
+ * Non thread-safe, la synchronisation est assurée par {@link ReservationIntervalIndex}.
+ */
+class RoomIntervalTree {
+
+    static final long NONE = -1L;
+
+    private static final class Node {
+        final long start;
+        final long end;
+        final long id;
+        long maxEnd;
+        int height = 1;
+        Node left;
+        Node right;
+
+        Node(long start, long end, long id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    // Hauteur de l'arbre, bornée par environ 1,44 log2(size) tant qu'il reste équilibré
+    int height() {
+        return height(root);
+    }
+
+    void insert(long start, long end, long id) {
+        root = insert(root, start, end, id);
+        size++;
+    }
+
+    void remove(long start, long end, long id) {
+        int before = size;
+        root = remove(root, start, end, id);
+        if (size == before) {
+            throw new IllegalStateException("Intervalle absent de l'index: réservation " + id);
+        }
+    }
+
+    /**
+     * Retourne l'id d'une réservation chevauchant [start, end[ autre que excludeId, ou {@link #NONE}.
+     */
+    long findOverlap(long start, long end, long excludeId) {
+        return findOverlap(root, start, end, excludeId);
+    }
+
+    private long findOverlap(Node node, long start, long end, long excludeId) {
+        // Aucun intervalle de ce sous-arbre ne se termine après le début demandé
+        if (node == null || node.maxEnd <= start) {
+            return NONE;
+        }
+        long found = findOverlap(node.left, start, end, excludeId);
+        if (found != NONE) {
+            return found;
+        }
+        // Le sous-arbre droit ne contient que des débuts >= node.start
+        if (node.start >= end) {
+            return NONE;
+        }
+        if (node.end > start && node.id != excludeId) {
+            return node.id;
+        }
+        return findOverlap(node.right, start, end, excludeId);
+    }
+
+    private static int compare(long start, long id, Node node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : Long.compare(id, node.id);
+    }
+
+    private Node insert(Node node, long start, long end, long id) {
+        if (node == null) {
+            return new Node(start, end, id);
+        }
+        if (compare(start, id, node) < 0) {
+            node.left = insert(node.left, start, end, id);
+        } else {
+            node.right = insert(node.right, start, end, id);
+        }
+        return rebalance(node);
+    }
+
+    private Node remove(Node node, long start, long end, long id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, end, id);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, end, id);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            Node replacement = new Node(successor.start, successor.end, successor.id);
+            replacement.left = node.left;
+            replacement.right = removeMin(node.right);
+            return rebalance(replacement);
+        }
+        return rebalance(node);
+    }
+
+    private Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd > maxEnd) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > maxEnd) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+}
+
@@ -0,0 +1,125 @@
+package com.hotel.reservation.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Verrous en mémoire par chambre, tenus jusqu'à la fin de la transaction courante. Ils sérialisent
+ * vérification, écriture, commit et éventuelles compensations de l'index pour une même chambre.
+ * <p>
+ * Les verrous forment un tableau fixe de stripes : la chambre d'id n prend le verrou n modulo le
+ * nombre de stripes. La mémoire ne dépend donc pas du nombre de chambres, et deux chambres dont les
+ * ids sont distants de moins que ce nombre (tout l'hôtel, avec des ids séquentiels) ne se font jamais
+ * attendre. Au-delà, deux chambres peuvent partager un verrou : l'attente reste bornée par le délai.
+ * <p>
+ * Plusieurs chambres sont verrouillées par stripe croissante ; un lot qui en verrouille dans le désordre
+ * est protégé de l'interblocage par le délai d'attente, au-delà duquel la transaction est annulée.
+ */
+@Component
+public class RoomLocks {
+    private static final Object HELD_LOCKS_KEY = RoomLocks.class.getName() + ".held";
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutNanos;
+    private final Timer acquiredTimer;
+    private final Timer timeoutTimer;
+
+    public RoomLocks(MeterRegistry meterRegistry,
+                     @Value("${reservation.locking.room-timeout:PT2S}") Duration timeout,
+                     @Value("${reservation.locking.stripes:1024}") int stripeCount) {
+        Assert.isTrue(stripeCount > 0, "reservation.locking.stripes doit être positif");
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutNanos = timeout.toNanos();
+        this.acquiredTimer = waitTimer(meterRegistry, "acquired");
+        this.timeoutTimer = waitTimer(meterRegistry, "timeout");
+    }
+
+    public void lock(Long... chambreIds) {
+        lock(Arrays.asList(chambreIds));
+    }
+
+    /**
+     * Verrouille les chambres données (les ids null sont ignorés) jusqu'à la fin de la transaction.
+     *
+     * @throws CannotAcquireLockException si une chambre reste verrouillée au-delà du délai d'attente
+     */
+    public void lock(Collection<Long> chambreIds) {
+        Assert.state(TransactionSynchronizationManager.isSynchronizationActive(),
+                "Le verrouillage d'une chambre exige une transaction active");
+        List<Long> ids = chambreIds.stream().filter(Objects::nonNull).distinct()
+                .sorted(Comparator.comparingInt(this::stripe)).toList();
+        List<ReentrantLock> held = heldLocks();
+        for (Long id : ids) {
+            ReentrantLock lock = stripes[stripe(id)];
+            // Déjà pris par cette transaction, pour cette chambre ou une autre de la même stripe
+            if (lock.isHeldByCurrentThread()) {
+                continue;
+            }
+            long startNanos = System.nanoTime();
+            boolean acquired;
+            try {
+                acquired = lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CannotAcquireLockException("Attente du verrou de la chambre " + id + " interrompue", e);
+            }
+            long waitedNanos = System.nanoTime() - startNanos;
+            if (!acquired) {
+                timeoutTimer.record(waitedNanos, TimeUnit.NANOSECONDS);
+                throw new CannotAcquireLockException("La chambre " + id + " est en cours de réservation, réessayez");
+            }
+            acquiredTimer.record(waitedNanos, TimeUnit.NANOSECONDS);
+            held.add(lock);
+        }
+    }
+
+    private int stripe(Long chambreId) {
+        return (int) Math.floorMod(chambreId, (long) stripes.length);
+    }
+
+    private static List<ReentrantLock> heldLocks() {
+        @SuppressWarnings("unchecked")
+        List<ReentrantLock> held = (List<ReentrantLock>) TransactionSynchronizationManager.getResource(HELD_LOCKS_KEY);
+        if (held == null) {
+            List<ReentrantLock> locks = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(HELD_LOCKS_KEY, locks);
+            // Ordre par défaut (le plus bas) : libéré après les compensations de l'index
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(HELD_LOCKS_KEY);
+                    locks.forEach(ReentrantLock::unlock);
+                }
+            });
+            held = locks;
+        }
+        return held;
+    }
+
+    private static Timer waitTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("reservation.room.lock.wait")
+                .description("Attente du verrou d'une chambre avant réservation")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,158 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.entity.RoomNightClaim;
+import com.hotel.reservation.repository.ReservationPeriod;
+import com.hotel.reservation.repository.ReservationRepository;
+import com.hotel.reservation.repository.RoomNightClaimRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Nuits prises par chaque réservation, écrites dans la même transaction que la réservation.
+ * Les index en mémoire ne voient que les écritures de leur propre instance ; quand plusieurs
+ * instances partagent la base, c'est la contrainte d'unicité de {@link RoomNightClaim} qui refuse
+ * la seconde réservation d'une même nuit, quelle que soit l'instance qui l'a reçue. Les index et le
+ * cache des réservations sont alors contournés au profit de la base (voir {@link #isEnabled()}).
+ * <p>
+ * Désactivé par défaut (reservation.claims.enabled) : une instance seule est déjà protégée par
+ * {@link ReservationIntervalIndex} et {@link RoomLocks}.
+ */
+@Slf4j
+@Component
+public class RoomNightClaims {
+    private static final int BACKFILL_CHUNK_SIZE = 1000;
+
+    private final RoomNightClaimRepository roomNightClaimRepository;
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public RoomNightClaims(RoomNightClaimRepository roomNightClaimRepository,
+                           ReservationRepository reservationRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${reservation.claims.enabled:false}") boolean enabled) {
+        this.roomNightClaimRepository = roomNightClaimRepository;
+        this.reservationRepository = reservationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Vrai quand la base est partagée entre instances : seule la base fait alors foi pour la
+     * disponibilité des chambres et le contenu des réservations.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Prend les nuits [dateDebut, dateFin[ de la réservation. Les lignes partent en batch JDBC au
+     * prochain flush ; {@link #flush(Long)} permet d'obtenir le refus avant le commit.
+     */
+    public void claim(Reservation reservation) {
+        if (!enabled || reservation.getChambre() == null
+                || reservation.getDateDebut() == null || reservation.getDateFin() == null) {
+            return;
+        }
+        claim(reservation.getId(), reservation.getChambre().getId(), reservation.getDateDebut(), reservation.getDateFin());
+    }
+
+    /**
+     * Libère les nuits de la réservation puis prend celles de son nouveau séjour.
+     */
+    public void reclaim(Reservation reservation) {
+        release(reservation.getId());
+        claim(reservation);
+    }
+
+    public void release(Long reservationId) {
+        if (enabled) {
+            roomNightClaimRepository.deleteByReservationId(reservationId);
+        }
+    }
+
+    /**
+     * Envoie les écritures en attente et traduit une nuit déjà prise (éventuellement par une autre
+     * instance) en {@link ReservationConflictException}. La transaction doit alors être annulée.
+     */
+    public void flush(Long chambreId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            entityManager.flush();
+        } catch (PersistenceException e) {
+            if (isClaimViolation(e)) {
+                throw new ReservationConflictException(chambreId);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * À l'activation sur une base existante, reconstitue les nuits des réservations déjà présentes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void backfill() {
+        if (!enabled || roomNightClaimRepository.count() > 0) {
+            return;
+        }
+        List<ReservationPeriod> periods = reservationRepository.findAllPeriods();
+        if (periods.isEmpty()) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        try {
+            for (int from = 0; from < periods.size(); from += BACKFILL_CHUNK_SIZE) {
+                List<ReservationPeriod> chunk = periods.subList(from, Math.min(from + BACKFILL_CHUNK_SIZE, periods.size()));
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (ReservationPeriod period : chunk) {
+                        if (period.chambreId() != null && period.dateFin().isAfter(period.dateDebut())) {
+                            claim(period.id(), period.chambreId(), period.dateDebut(), period.dateFin());
+                        }
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+            }
+            log.info("Nuits réservées reconstituées pour {} réservations en {} ms",
+                    periods.size(), (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (RuntimeException e) {
+            // Typiquement une autre instance qui reconstitue la table au même moment
+            log.warn("Reconstitution des nuits réservées interrompue: {}", e.getMessage());
+        }
+    }
+
+    private void claim(Long reservationId, Long chambreId, LocalDate dateDebut, LocalDate dateFin) {
+        for (LocalDate night = dateDebut; night.isBefore(dateFin); night = night.plusDays(1)) {
+            entityManager.persist(new RoomNightClaim(chambreId, night, reservationId));
+        }
+    }
+
+    private static boolean isClaimViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String constraint = violation.getConstraintName() != null ? violation.getConstraintName() : violation.getMessage();
+                return constraint != null && constraint.toLowerCase(Locale.ROOT).contains(RoomNightClaim.UNIQUE_CONSTRAINT);
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,235 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.entity.Chambre;
+import com.hotel.reservation.repository.ChambreRepository;
+import com.hotel.reservation.repository.ReservationPeriod;
+import com.hotel.reservation.repository.ReservationRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Occupation nuit par nuit de chaque chambre sous forme de bitset (un bit par nuit, 64 nuits par mot).
+ * Sur un horizon de 730 nuits une chambre coûte 12 mots, soit moins de 1 Mo pour 10 000 chambres.
+ * La fenêtre avance chaque nuit (voir {@link #roll()}) ; les recherches en dehors de l'horizon, et
+ * celles portant sur une chambre sans bitset, sont servies par {@link ReservationIntervalIndex}.
+ * Seuls les ids des chambres sont gardés : type et disponibilité sont relus depuis les entités.
+ * <p>
+ * Quand la base est partagée ({@link RoomNightClaims#isEnabled()}), les bitsets ne verraient pas
+ * les écritures des autres instances : les recherches sont alors faites en base sur les nuits réservées.
+ */
+@Slf4j
+@Component
+public class RoomOccupancyIndex {
+    private final ChambreRepository chambreRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReservationIntervalIndex reservationIntervalIndex;
+    private final RoomNightClaims roomNightClaims;
+    private final int horizonDays;
+    private final int words;
+
+    private final Map<Long, AtomicLongArray> rooms = new ConcurrentHashMap<>();
+    // Marquages et recherches en lecture ; le décalage quotidien de la fenêtre en écriture
+    private final ReentrantReadWriteLock window = new ReentrantReadWriteLock();
+    private volatile long baseDay;
+
+    public RoomOccupancyIndex(ChambreRepository chambreRepository,
+                              ReservationRepository reservationRepository,
+                              ReservationIntervalIndex reservationIntervalIndex,
+                              RoomNightClaims roomNightClaims,
+                              @Value("${reservation.availability.horizon-days:730}") int horizonDays) {
+        this.chambreRepository = chambreRepository;
+        this.reservationRepository = reservationRepository;
+        this.reservationIntervalIndex = reservationIntervalIndex;
+        this.roomNightClaims = roomNightClaims;
+        this.horizonDays = horizonDays;
+        this.words = (horizonDays + 63) >>> 6;
+    }
+
+    @PostConstruct
+    void load() {
+        baseDay = LocalDate.now().toEpochDay();
+        if (roomNightClaims.isEnabled()) {
+            log.info("Occupation des chambres lue en base (reservation.claims.enabled)");
+            return;
+        }
+        chambreRepository.findAll().forEach(this::addChambre);
+        for (ReservationPeriod period : reservationRepository.findAllPeriods()) {
+            move(null, period);
+        }
+        log.info("Occupation des chambres chargée: {} chambres sur {} nuits ({} octets de bitset)",
+                rooms.size(), horizonDays, (long) rooms.size() * words * Long.BYTES);
+    }
+
+    public void addChambre(Chambre chambre) {
+        if (roomNightClaims.isEnabled()) {
+            return;
+        }
+        rooms.putIfAbsent(chambre.getId(), new AtomicLongArray(words));
+    }
+
+    /**
+     * Déplace les nuits occupées d'un séjour vers un autre ; l'un ou l'autre peut être null.
+     */
+    public void move(ReservationPeriod previous, ReservationPeriod current) {
+        window.readLock().lock();
+        try {
+            if (previous != null) {
+                mark(previous, false);
+            }
+            if (current != null) {
+                mark(current, true);
+            }
+        } finally {
+            window.readLock().unlock();
+        }
+    }
+
+    public List<Chambre> findAvailable(String type, LocalDate from, LocalDate to) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("La période recherchée doit vérifier from < to");
+        }
+        String wantedType = type != null && !type.isBlank() ? typeKey(type) : null;
+        if (roomNightClaims.isEnabled()) {
+            return chambreRepository.findUnclaimed(wantedType, from, to);
+        }
+
+        List<Chambre> candidates = new ArrayList<>();
+        for (Chambre chambre : chambreRepository.findAll()) {
+            if ((wantedType == null || wantedType.equals(typeKey(chambre.getType())))
+                    && !Boolean.FALSE.equals(chambre.getDisponible())) {
+                candidates.add(chambre);
+            }
+        }
+        List<Chambre> available = new ArrayList<>();
+        window.readLock().lock();
+        try {
+            long start = from.toEpochDay() - baseDay;
+            long end = to.toEpochDay() - baseDay;
+            boolean inHorizon = start >= 0 && end <= horizonDays;
+            for (Chambre chambre : candidates) {
+                AtomicLongArray nights = inHorizon ? rooms.get(chambre.getId()) : null;
+                boolean free = nights != null
+                        ? isFree(nights, (int) start, (int) end)
+                        : reservationIntervalIndex.isAvailable(chambre.getId(), from, to);
+                if (free) {
+                    available.add(chambre);
+                }
+            }
+        } finally {
+            window.readLock().unlock();
+        }
+        return available;
+    }
+
+    /**
+     * Avance la fenêtre au jour courant : les nuits passées sortent des bitsets et celles qui entrent
+     * dans l'horizon sont reprises de {@link ReservationIntervalIndex}.
+     */
+    @Scheduled(cron = "${reservation.availability.roll-cron:0 0 0 * * *}")
+    public void roll() {
+        roll(LocalDate.now());
+    }
+
+    void roll(LocalDate today) {
+        long newBaseDay = today.toEpochDay();
+        long startNanos = System.nanoTime();
+        int shift;
+        window.writeLock().lock();
+        try {
+            if (newBaseDay <= baseDay) {
+                return;
+            }
+            shift = (int) Math.min(newBaseDay - baseDay, horizonDays);
+            for (Map.Entry<Long, AtomicLongArray> room : rooms.entrySet()) {
+                AtomicLongArray nights = room.getValue();
+                shiftDown(nights, shift);
+                for (int night = horizonDays - shift; night < horizonDays; night++) {
+                    LocalDate date = LocalDate.ofEpochDay(newBaseDay + night);
+                    if (!reservationIntervalIndex.isAvailable(room.getKey(), date, date.plusDays(1))) {
+                        long bit = 1L << (night & 63);
+                        nights.accumulateAndGet(night >>> 6, bit, (bits, b) -> bits | b);
+                    }
+                }
+            }
+            baseDay = newBaseDay;
+        } finally {
+            window.writeLock().unlock();
+        }
+        log.info("Fenêtre d'occupation avancée de {} nuits ({} chambres) en {} ms",
+                shift, rooms.size(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private void mark(ReservationPeriod period, boolean occupied) {
+        if (period.chambreId() == null || period.dateDebut() == null || period.dateFin() == null) {
+            return;
+        }
+        AtomicLongArray nights = rooms.get(period.chambreId());
+        if (nights == null) {
+            return;
+        }
+        long start = Math.max(0, period.dateDebut().toEpochDay() - baseDay);
+        long end = Math.min(horizonDays, period.dateFin().toEpochDay() - baseDay);
+        if (start >= end) {
+            return;
+        }
+        int firstWord = (int) (start >>> 6);
+        int lastWord = (int) ((end - 1) >>> 6);
+        for (int word = firstWord; word <= lastWord; word++) {
+            long mask = mask(word, firstWord, lastWord, (int) start, (int) end);
+            if (occupied) {
+                nights.accumulateAndGet(word, mask, (bits, m) -> bits | m);
+            } else {
+                nights.accumulateAndGet(word, ~mask, (bits, m) -> bits & m);
+            }
+        }
+    }
+
+    // Décale le bitset de shift nuits vers le passé ; appelé sous le verrou d'écriture de la fenêtre
+    private void shiftDown(AtomicLongArray nights, int shift) {
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        for (int word = 0; word < words; word++) {
+            int source = word + wordShift;
+            long low = source < words ? nights.get(source) : 0L;
+            long high = source + 1 < words ? nights.get(source + 1) : 0L;
+            nights.set(word, bitShift == 0 ? low : (low >>> bitShift) | (high << (64 - bitShift)));
+        }
+    }
+
+    private static boolean isFree(AtomicLongArray nights, int start, int end) {
+        int firstWord = start >>> 6;
+        int lastWord = (end - 1) >>> 6;
+        long occupied = 0L;
+        for (int word = firstWord; word <= lastWord; word++) {
+            occupied |= nights.get(word) & mask(word, firstWord, lastWord, start, end);
+        }
+        return occupied == 0L;
+    }
+
+    private static long mask(int word, int firstWord, int lastWord, int start, int end) {
+        long mask = -1L;
+        if (word == firstWord) {
+            mask &= -1L << (start & 63);
+        }
+        if (word == lastWord) {
+            mask &= -1L >>> (63 - ((end - 1) & 63));
+        }
+        return mask;
+    }
+
+    private static String typeKey(String type) {
+        return type != null ? type.toLowerCase(Locale.ROOT) : "";
+    }
+}
@@ -0,0 +1,20 @@
+-- MySQL n'a pas de séquences : Hibernate simule chambres_seq, clients_seq, reservations_seq et
+-- room_night_claims_seq par des tables d'une ligne (next_val), créées à 1 par ddl-auto=update sur
+-- une base existante dont les ids viennent de l'ancien AUTO_INCREMENT. Avec l'optimiseur pooled
+-- (allocationSize = 50), la valeur lue est la borne haute du bloc [next_val - 49, next_val] : on la
+-- porte donc à max(id) + 50 quand elle est en dessous. Sans effet une fois les séquences en avance,
+-- le script est rejoué sans risque à chaque démarrage (spring.sql.init.platform=mysql).
+UPDATE chambres_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM chambres)
+    WHERE next_val < (SELECT COALESCE(MAX(id), 0) + 50 FROM chambres);
+UPDATE clients_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM clients)
+    WHERE next_val < (SELECT COALESCE(MAX(id), 0) + 50 FROM clients);
+UPDATE reservations_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM reservations)
+    WHERE next_val < (SELECT COALESCE(MAX(id), 0) + 50 FROM reservations);
+UPDATE room_night_claims_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM room_night_claims)
+    WHERE next_val < (SELECT COALESCE(MAX(id), 0) + 50 FROM room_night_claims);
+
+-- Colonnes version (verrou optimiste) : ajoutées par ddl-auto=update en "default 0 not null", mais une
+-- colonne déjà présente et nullable n'est jamais modifiée par Hibernate ; ses NULL sont ramenés à 0.
+UPDATE chambres SET version = 0 WHERE version IS NULL;
+UPDATE clients SET version = 0 WHERE version IS NULL;
+UPDATE reservations SET version = 0 WHERE version IS NULL;
@@ -0,0 +1,104 @@
+package com.hotel.reservation.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SoapBodyCleaningRequestWrapperTest {
+    private static final String ENVELOPE = "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+            + "<soapenv:Body><r:getReservationRequest xmlns:r=\"http://hotel.com/reservation/soap\"><r:id>1</r:id>"
+            + "</r:getReservationRequest></soapenv:Body></soapenv:Envelope>";
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded";
+
+    @Test
+    void xmlBodyIsPassedThroughUntouched() throws IOException {
+        String body = "\r\n  " + ENVELOPE + "\r\n";
+        SoapBodyCleaningRequestWrapper wrapper = wrap(body, "text/xml");
+
+        assertThat(read(wrapper)).isEqualTo(body);
+        assertThat(wrapper.getContentLengthLong()).isEqualTo(body.length());
+        assertThat(wrapper.getContentType()).isEqualTo("text/xml");
+    }
+
+    @Test
+    void junkBeforeTheEnvelopeIsStripped() throws IOException {
+        String junk = "xml=<ignored>&request=";
+        SoapBodyCleaningRequestWrapper wrapper = wrap(junk + ENVELOPE, FORM_CONTENT_TYPE);
+
+        // L'enveloppe explicite est préférée à la première balise venue
+        assertThat(read(wrapper)).isEqualTo(ENVELOPE);
+        assertThat(wrapper.getContentLengthLong()).isEqualTo(ENVELOPE.length());
+        assertThat(wrapper.getContentLength()).isEqualTo(ENVELOPE.length());
+        assertThat(wrapper.getContentType()).isEqualTo("text/xml; charset=UTF-8");
+        assertThat(wrapper.getHeader("Content-Length")).isEqualTo(String.valueOf(ENVELOPE.length()));
+        assertThat(Collections.list(wrapper.getHeaders("content-type"))).containsExactly("text/xml; charset=UTF-8");
+    }
+
+    @Test
+    void junkLongerThanThePrefixIsPassedThroughUntouched() throws IOException {
+        String body = "a".repeat(8192 + 100) + ENVELOPE;
+        SoapBodyCleaningRequestWrapper wrapper = wrap(body, FORM_CONTENT_TYPE);
+
+        assertThat(read(wrapper)).isEqualTo(body);
+        assertThat(wrapper.getContentLengthLong()).isEqualTo(body.length());
+        assertThat(wrapper.getContentType()).isEqualTo(FORM_CONTENT_TYPE);
+    }
+
+    @Test
+    void envelopeJustInsideThePrefixIsFound() throws IOException {
+        String junk = "a".repeat(8192 - "<soapenv:Envelope".length());
+        SoapBodyCleaningRequestWrapper wrapper = wrap(junk + ENVELOPE, FORM_CONTENT_TYPE);
+
+        assertThat(read(wrapper)).isEqualTo(ENVELOPE);
+        assertThat(wrapper.getContentLengthLong()).isEqualTo(ENVELOPE.length());
+    }
+
+    @Test
+    void whitespaceOnlyBodyIsPassedThroughUntouched() throws IOException {
+        String shortBody = " \r\n\t ";
+        SoapBodyCleaningRequestWrapper wrapper = wrap(shortBody, "text/xml");
+        assertThat(read(wrapper)).isEqualTo(shortBody);
+        assertThat(wrapper.getContentLengthLong()).isEqualTo(shortBody.length());
+
+        // Plus long que le préfixe : la lecture s'arrête au préfixe et reprend dans le flux d'origine
+        String longBody = " ".repeat(10_000) + ENVELOPE;
+        wrapper = wrap(longBody, "text/xml");
+        assertThat(read(wrapper)).isEqualTo(longBody);
+        assertThat(wrapper.getContentType()).isEqualTo("text/xml");
+    }
+
+    @Test
+    void bodyWithoutXmlIsPassedThroughUntouched() throws IOException {
+        String body = "request=none&format=plain";
+        SoapBodyCleaningRequestWrapper wrapper = wrap(body, FORM_CONTENT_TYPE);
+
+        assertThat(read(wrapper)).isEqualTo(body);
+        assertThat(wrapper.getContentLengthLong()).isEqualTo(body.length());
+        assertThat(wrapper.getContentType()).isEqualTo(FORM_CONTENT_TYPE);
+        assertThat(wrapper.getHeader("Content-Type")).isEqualTo(FORM_CONTENT_TYPE);
+    }
+
+    @Test
+    void emptyBodyIsPassedThroughUntouched() throws IOException {
+        SoapBodyCleaningRequestWrapper wrapper = wrap("", "text/xml");
+
+        assertThat(read(wrapper)).isEmpty();
+        assertThat(wrapper.getInputStream().isFinished()).isTrue();
+    }
+
+    private static SoapBodyCleaningRequestWrapper wrap(String body, String contentType) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/soap");
+        request.setContentType(contentType);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return new SoapBodyCleaningRequestWrapper(request);
+    }
+
+    private static String read(SoapBodyCleaningRequestWrapper wrapper) throws IOException {
+        return new String(wrapper.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,85 @@
+package com.hotel.reservation.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ws.WebServiceMessage;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class SoapPayloadCaptureTest {
+    private static final List<String> MASKED = List.of("preferences", "nom", "prenom", "email", "telephone");
+
+    @Test
+    void masksSensitiveElementsWhateverTheirPrefix() {
+        SoapPayloadCapture capture = capture(16384);
+
+        String masked = capture.mask("<ns2:client id=\"3\"><ns2:nom>Dupont</ns2:nom><prenom xml:lang=\"fr\">Marie</prenom>"
+                + "<ns2:email><![CDATA[marie@example.com]]></ns2:email><telephone/><ville>Lyon</ville>"
+                + "<nombre>2</nombre></ns2:client>");
+
+        assertThat(masked).isEqualTo("<ns2:client id=\"3\"><ns2:nom>***</ns2:nom><prenom xml:lang=\"fr\">***</prenom>"
+                + "<ns2:email>***</ns2:email><telephone/><ville>Lyon</ville><nombre>2</nombre></ns2:client>");
+    }
+
+    @Test
+    void masksAnElementCutByTheTruncation() {
+        SoapPayloadCapture capture = capture(16384);
+
+        assertThat(capture.mask("<nom>Dupont</nom><preferences>Vue sur m")).isEqualTo("<nom>***</nom><preferences>***");
+        assertThat(capture.mask("<email><![CDATA[marie@exa")).isEqualTo("<email>***");
+    }
+
+    @Test
+    void stopsSerializingAtTheCap() throws Exception {
+        SoapPayloadCapture capture = capture(100);
+        AtomicInteger chunksWritten = new AtomicInteger();
+        WebServiceMessage message = mock(WebServiceMessage.class);
+        byte[] chunk = "<nom>Dupont</nom>".getBytes(StandardCharsets.UTF_8);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            for (int i = 0; i < 1000; i++) {
+                out.write(chunk);
+                chunksWritten.incrementAndGet();
+            }
+            return null;
+        }).when(message).writeTo(any());
+
+        capture.capture(capture.newExchange(), "getReservation", SoapPayloadCapture.Kind.RESPONSE, message);
+
+        assertThat(chunksWritten.get()).isEqualTo(100 / chunk.length);
+        SoapPayloadCapture.Entry entry = capture.recent(null, 10).get(0);
+        assertThat(entry.truncated()).isTrue();
+        assertThat(entry.size()).isEqualTo(100);
+        assertThat(entry.payload()).doesNotContain("Dupont").startsWith("<nom>***</nom>");
+    }
+
+    @Test
+    void keepsAMessageUnderTheCapWhole() throws Exception {
+        SoapPayloadCapture capture = capture(100);
+        WebServiceMessage message = mock(WebServiceMessage.class);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("<ok/>".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(message).writeTo(any());
+
+        capture.capture(capture.newExchange(), "getReservation", SoapPayloadCapture.Kind.REQUEST, message);
+
+        SoapPayloadCapture.Entry entry = capture.recent(null, 10).get(0);
+        assertThat(entry.truncated()).isFalse();
+        assertThat(entry.size()).isEqualTo(5);
+        assertThat(entry.payload()).isEqualTo("<ok/>");
+    }
+
+    // Publication sur le thread appelant
+    private static SoapPayloadCapture capture(int maxPayloadBytes) {
+        return new SoapPayloadCapture(Runnable::run, new SimpleMeterRegistry(), 16, 1, "", true, maxPayloadBytes, MASKED);
+    }
+}
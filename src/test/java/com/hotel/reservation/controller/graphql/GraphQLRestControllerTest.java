@@ -0,0 +1,197 @@
+package com.hotel.reservation.controller.graphql;
+
+import com.hotel.reservation.entity.Chambre;
+import com.hotel.reservation.entity.Client;
+import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.repository.ChambreRepository;
+import com.hotel.reservation.repository.ClientRepository;
+import com.hotel.reservation.service.ClientService;
+import com.hotel.reservation.service.ReservationService;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Exécution GraphQL complète (schéma, cache de documents, APQ, coût, DataLoaders) sans couche HTTP,
+ * contre la base H2 initialisée par DataInitializer.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"grpc.server.port=-1", "spring.jpa.show-sql=false", "reservation.graphql.cost.max-cost=1000"})
+class GraphQLRestControllerTest {
+
+    @Autowired
+    private GraphQLRestController controller;
+
+    @Autowired
+    private ReservationFieldResolver reservationFieldResolver;
+
+    @Autowired
+    private GraphQLDataLoaders dataLoaders;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ChambreRepository chambreRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @SpyBean
+    private ClientService clientService;
+
+    @Test
+    void reservationsResolveClientAndChambreFromTheirOwnQuery() {
+        LocalDate from = LocalDate.now().plusYears(8);
+        List<Client> clients = clientRepository.findAll();
+        List<Chambre> chambres = chambreRepository.findAll();
+        for (int i = 0; i < 2; i++) {
+            reservationService.createReservation(reservation(clients.get(i), chambres.get(i), from, from.plusDays(2)));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        clearInvocations(clientService);
+
+        Map<String, Object> response = execute("{ reservations(first: 10, from: \"" + from + "\", to: \""
+                + from.plusDays(2) + "\") { edges { node { client { nom } chambre { type } } } } }");
+
+        assertThat(response).doesNotContainKey("errors");
+        assertThat(response.toString()).contains("nom=" + clients.get(0).getNom(), "nom=" + clients.get(1).getNom());
+        // Client et chambre viennent de la jointure de la requête de page : ni findAllById, ni select par id
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        verify(clientService, times(0)).getClients(anyCollection());
+    }
+
+    @Test
+    void uninitializedClientsAreBatchedIntoOneLoad() {
+        List<Long> clientIds = clientRepository.findAll().stream().map(Client::getId).toList();
+        clearInvocations(clientService);
+
+        List<String> noms = transactionTemplate.execute(status -> {
+            DataLoaderRegistry registry = dataLoaders.newRegistry();
+            DataFetchingEnvironment environment = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+                    .dataLoaderRegistry(registry)
+                    .build();
+            List<CompletableFuture<Client>> futures = clientIds.stream()
+                    .map(id -> {
+                        Reservation reservation = new Reservation();
+                        reservation.setClient(entityManager.getReference(Client.class, id));
+                        assertThat(Hibernate.isInitialized(reservation.getClient())).isFalse();
+                        return reservationFieldResolver.client(reservation, environment);
+                    })
+                    .toList();
+            assertThat(futures).noneMatch(CompletableFuture::isDone);
+            registry.dispatchAll();
+            return futures.stream().map(future -> future.join().getNom()).toList();
+        });
+
+        assertThat(noms).hasSize(clientIds.size()).doesNotContainNull();
+        verify(clientService, times(1)).getClients(anyCollection());
+    }
+
+    @Test
+    void persistedQueryIsRegisteredOnMissThenServedByHash() {
+        String query = "query PersistedReservations { reservations(first: 1) { pageInfo { hasNextPage } } }";
+        Map<String, Object> extensions = persistedQuery(sha256(query));
+
+        Map<String, Object> miss = controller.graphql(Map.of("extensions", extensions)).join();
+        assertThat(errorMessage(miss)).isEqualTo("PersistedQueryNotFound");
+
+        Map<String, Object> registered = controller.graphql(Map.of("query", query, "extensions", extensions)).join();
+        assertThat(registered).doesNotContainKey("errors");
+
+        Map<String, Object> hit = controller.graphql(Map.of("extensions", extensions)).join();
+        assertThat(hit).doesNotContainKey("errors");
+        assertThat(hit.get("data")).isEqualTo(registered.get("data"));
+    }
+
+    @Test
+    void persistedQueryWithAMismatchedHashIsRejected() {
+        String query = "query MismatchedHash { reservations(first: 1) { pageInfo { hasNextPage } } }";
+        Map<String, Object> extensions = persistedQuery(sha256(query + " "));
+
+        Map<String, Object> response = controller.graphql(Map.of("query", query, "extensions", extensions)).join();
+
+        assertThat(errorMessage(response)).isEqualTo("PersistedQueryIdInvalid");
+        // Rien n'est enregistré sous cette empreinte
+        assertThat(errorMessage(controller.graphql(Map.of("extensions", extensions)).join())).isEqualTo("PersistedQueryNotFound");
+    }
+
+    @Test
+    void queryOverTheCostLimitIsRejectedBeforeExecution() {
+        Map<String, Object> response = execute("{ getAllReservations { id client { nom } } }");
+
+        assertThat(response.get("data")).isNull();
+        @SuppressWarnings("unchecked")
+        Map<String, Object> error = ((List<Map<String, Object>>) response.get("errors")).get(0);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> extensions = (Map<String, Object>) error.get("extensions");
+        assertThat(extensions).containsEntry("code", "MAX_QUERY_COST_EXCEEDED").containsEntry("limit", 1000L);
+        assertThat((Long) extensions.get("value")).isGreaterThan(1000L);
+    }
+
+    private Map<String, Object> execute(String query) {
+        return controller.graphql(Map.of("query", query)).join();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String errorMessage(Map<String, Object> response) {
+        List<Map<String, Object>> errors = (List<Map<String, Object>>) response.get("errors");
+        assertThat(errors).as("erreurs de %s", response).isNotEmpty();
+        return (String) errors.get(0).get("message");
+    }
+
+    private static Map<String, Object> persistedQuery(String hash) {
+        return Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash));
+    }
+
+    private static String sha256(String text) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (java.security.NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Reservation reservation(Client client, Chambre chambre, LocalDate dateDebut, LocalDate dateFin) {
+        Reservation reservation = new Reservation();
+        reservation.setClient(client);
+        reservation.setChambre(chambre);
+        reservation.setDateDebut(dateDebut);
+        reservation.setDateFin(dateFin);
+        return reservation;
+    }
+}
@@ -0,0 +1,218 @@
+package com.hotel.reservation.controller.grpc;
+
+import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.proto.BookingAck;
+import com.hotel.reservation.proto.BookingCommand;
+import com.hotel.reservation.proto.CreateReservationRequest;
+import com.hotel.reservation.proto.DeleteReservationRequest;
+import com.hotel.reservation.proto.ReservationServiceGrpc;
+import com.hotel.reservation.repository.ReservationRepository;
+import com.hotel.reservation.service.ChambreService;
+import com.hotel.reservation.service.ReservationBatchService;
+import com.hotel.reservation.service.ReservationConflictException;
+import com.hotel.reservation.service.ReservationService;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Flux BookReservations de bout en bout sur un transport gRPC en mémoire : ReservationBatchService
+ * réel, ReservationService et transactions simulés. Le transport in-process applique exactement
+ * les request(n) des deux côtés, ce qui rend le contrôle de flux observable.
+ */
+class BookingStreamObserverTest {
+    private static final LocalDate CONFLICT = LocalDate.of(2030, 6, 1);
+
+    private final ReservationService reservationService = mock(ReservationService.class);
+    private final ExecutorService bookingExecutor = Executors.newSingleThreadExecutor();
+    private final AtomicLong ids = new AtomicLong(100);
+    private Server server;
+    private ManagedChannel channel;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow();
+        server.shutdownNow();
+        bookingExecutor.shutdownNow();
+        bookingExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void acksEveryCommandInOrderWithItsOwnStatus() throws Exception {
+        start(2);
+        Client client = new Client(Integer.MAX_VALUE);
+
+        client.send(create("c1", "2030-05-01"));
+        client.send(create("c2", "2030-13-01"));
+        client.send(create("c3", CONFLICT.toString()));
+        client.send(BookingCommand.newBuilder().setCommandId("c4").build());
+        client.send(BookingCommand.newBuilder().setCommandId("c5")
+                .setCancel(DeleteReservationRequest.newBuilder().setId(7)).build());
+        client.requests.onCompleted();
+
+        assertThat(client.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(client.acks).extracting(BookingAck::getCommandId).containsExactly("c1", "c2", "c3", "c4", "c5");
+        assertThat(client.acks).extracting(BookingAck::getStatus)
+                .containsExactly("OK", "INVALID_ARGUMENT", "ALREADY_EXISTS", "INVALID_ARGUMENT", "OK");
+        List<BookingAck> acks = List.copyOf(client.acks);
+        assertThat(acks.get(0).getReservationId()).isPositive();
+        assertThat(acks.get(1).getError()).startsWith("Format de date invalide");
+        assertThat(acks.get(2).getSuccess()).isFalse();
+        assertThat(acks.get(4).getReservationId()).isEqualTo(7);
+        verify(reservationService).deleteReservation(7L);
+    }
+
+    @Test
+    void stopsRequestingCommandsUntilTheClientReadsItsAcks() throws Exception {
+        start(2);
+        Client client = new Client(0);
+
+        client.send(create("c1", "2030-05-01"));
+        client.send(create("c2", "2030-05-03"));
+        verify(reservationService, timeout(5000).times(2)).createReservation(any());
+
+        // Lot traité mais accusés non lus : le serveur ne redemande pas de commandes
+        assertThat(client.acks).isEmpty();
+        assertThat(client.requests.isReady()).isFalse();
+        client.send(create("c3", "2030-05-05"));
+        verify(reservationService, after(200).times(2)).createReservation(any());
+
+        // Les deux accusés en attente, plus un : le flux de sortie redevient prêt et c3 est demandée
+        client.requests.request(3);
+        verify(reservationService, timeout(5000).times(3)).createReservation(any());
+        await(() -> client.acks.size() == 3);
+        assertThat(client.acks).extracting(BookingAck::getCommandId).containsExactly("c1", "c2", "c3");
+    }
+
+    @Test
+    void failingCommandDoesNotLoseTheRestOfItsBatch() throws Exception {
+        start(3);
+        Client client = new Client(Integer.MAX_VALUE);
+        // c1 et c2 arrivent pendant le traitement de c0 et forment le lot suivant
+        CountDownLatch firstBatch = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            Reservation reservation = invocation.getArgument(0);
+            if (reservation.getDateDebut().getYear() == 2029) {
+                firstBatch.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return created(reservation);
+        }).when(reservationService).createReservation(any());
+
+        client.send(create("c0", "2029-01-01"));
+        assertThat(firstBatch.await(5, TimeUnit.SECONDS)).isTrue();
+        client.send(create("c1", "2030-05-01"));
+        client.send(create("c2", CONFLICT.toString()));
+        release.countDown();
+        client.requests.onCompleted();
+
+        assertThat(client.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(client.acks).extracting(BookingAck::getStatus).containsExactly("OK", "OK", "ALREADY_EXISTS");
+        // c1 appliquée dans le lot annulé, puis rejouée seule
+        verify(reservationService, times(2)).createReservation(
+                argThat(reservation -> reservation.getDateDebut().equals(LocalDate.of(2030, 5, 1))));
+    }
+
+    private void start(int batchSize) throws Exception {
+        when(reservationService.createReservation(any())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+        ReservationBatchService batchService = new ReservationBatchService(reservationService,
+                mock(ReservationRepository.class), mock(PlatformTransactionManager.class));
+        ReservationGrpcServiceImpl service = new ReservationGrpcServiceImpl(reservationService,
+                mock(ChambreService.class), batchService, bookingExecutor, batchSize);
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).directExecutor().addService(service).build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    private Reservation created(Reservation reservation) {
+        if (CONFLICT.equals(reservation.getDateDebut())) {
+            throw new ReservationConflictException(1L);
+        }
+        reservation.setId(ids.incrementAndGet());
+        return reservation;
+    }
+
+    private static BookingCommand create(String commandId, String dateDebut) {
+        return BookingCommand.newBuilder()
+                .setCommandId(commandId)
+                .setCreate(CreateReservationRequest.newBuilder().setDateDebut(dateDebut).setDateFin("2030-12-31"))
+                .build();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition attendue").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Client du flux dont les accusés ne sont demandés qu'à hauteur de initialAcks, puis par request(n).
+     */
+    private final class Client implements ClientResponseObserver<BookingCommand, BookingAck> {
+        private final int initialAcks;
+        private final Queue<BookingAck> acks = new ConcurrentLinkedQueue<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final ClientCallStreamObserver<BookingCommand> requests;
+
+        Client(int initialAcks) {
+            this.initialAcks = initialAcks;
+            this.requests = (ClientCallStreamObserver<BookingCommand>) ReservationServiceGrpc.newStub(channel)
+                    .bookReservations(this);
+        }
+
+        void send(BookingCommand command) {
+            requests.onNext(command);
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<BookingCommand> requestStream) {
+            requestStream.disableAutoRequestWithInitial(initialAcks);
+        }
+
+        @Override
+        public void onNext(BookingAck ack) {
+            acks.add(ack);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            completed.countDown();
+        }
+
+        @Override
+        public void onCompleted() {
+            completed.countDown();
+        }
+    }
+}
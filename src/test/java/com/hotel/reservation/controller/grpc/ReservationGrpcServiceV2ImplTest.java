@@ -0,0 +1,79 @@
+package com.hotel.reservation.controller.grpc;
+
+import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.proto.v2.CreateReservationRequest;
+import com.hotel.reservation.proto.v2.ListReservationsRequest;
+import com.hotel.reservation.proto.v2.ListReservationsResponse;
+import com.hotel.reservation.service.ReservationPage;
+import com.hotel.reservation.service.ReservationService;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReservationGrpcServiceV2ImplTest {
+    private final ReservationService reservationService = mock(ReservationService.class);
+    private final ReservationGrpcServiceV2Impl service = new ReservationGrpcServiceV2Impl(reservationService);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void epochDayZeroIsADate() {
+        when(reservationService.createReservation(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation created = invocation.getArgument(0);
+            created.setId(1L);
+            return created;
+        });
+        StreamObserver<com.hotel.reservation.proto.v2.Reservation> observer = mock(StreamObserver.class);
+
+        service.createReservation(CreateReservationRequest.newBuilder().setDateDebut(0).setDateFin(2).build(), observer);
+
+        ArgumentCaptor<com.hotel.reservation.proto.v2.Reservation> response =
+                ArgumentCaptor.forClass(com.hotel.reservation.proto.v2.Reservation.class);
+        verify(observer).onNext(response.capture());
+        assertThat(response.getValue().hasDateDebut()).isTrue();
+        assertThat(response.getValue().getDateDebut()).isZero();
+        ArgumentCaptor<Reservation> entity = ArgumentCaptor.forClass(Reservation.class);
+        verify(reservationService).createReservation(entity.capture());
+        assertThat(entity.getValue().getDateDebut()).isEqualTo(LocalDate.EPOCH);
+        assertThat(entity.getValue().getDateFin()).isEqualTo(LocalDate.EPOCH.plusDays(2));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void missingDateIsInvalidArgument() {
+        StreamObserver<com.hotel.reservation.proto.v2.Reservation> observer = mock(StreamObserver.class);
+
+        service.createReservation(CreateReservationRequest.newBuilder().setDateFin(2).build(), observer);
+
+        ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+        verify(observer).onError(error.capture());
+        assertThat(Status.fromThrowable(error.getValue()).getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+        verify(reservationService, never()).createReservation(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dateFiltersAreAppliedOnlyWhenPresent() {
+        when(reservationService.getReservationPage(anyLong(), anyInt(), any(), any(), any()))
+                .thenReturn(new ReservationPage(List.of(), null, false));
+        StreamObserver<ListReservationsResponse> observer = mock(StreamObserver.class);
+
+        service.listReservations(ListReservationsRequest.newBuilder().setDateFrom(0).build(), observer);
+
+        verify(reservationService).getReservationPage(eq(0L), eq(0), isNull(), eq(LocalDate.EPOCH), isNull());
+    }
+}
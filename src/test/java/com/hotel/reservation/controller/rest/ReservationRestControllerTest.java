@@ -0,0 +1,132 @@
+package com.hotel.reservation.controller.rest;
+
+import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.service.ReservationConflictException;
+import com.hotel.reservation.service.ReservationImportService;
+import com.hotel.reservation.service.ReservationPage;
+import com.hotel.reservation.service.ReservationService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(value = ReservationRestController.class, properties = "reservation.export.timeout=PT45M")
+class ReservationRestControllerTest {
+    private static final long EXPORT_TIMEOUT_MILLIS = 45 * 60 * 1000L;
+    private static final String BODY = "{\"chambre\":{\"id\":1},\"dateDebut\":\"2030-06-03\",\"dateFin\":\"2030-06-01\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReservationService reservationService;
+
+    @MockBean
+    private ReservationImportService reservationImportService;
+
+    @Test
+    void updateWithInvalidPeriodIsBadRequest() throws Exception {
+        when(reservationService.updateReservation(eq(1L), any(Reservation.class), isNull()))
+                .thenThrow(new IllegalArgumentException("dateFin doit être postérieure à dateDebut"));
+
+        mockMvc.perform(put("/api/reservations/1").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("dateFin doit être postérieure à dateDebut"));
+    }
+
+    @Test
+    void updateOfUnknownReservationIsNotFound() throws Exception {
+        when(reservationService.updateReservation(eq(1L), any(Reservation.class), isNull()))
+                .thenThrow(new EntityNotFoundException("Réservation non trouvée: 1"));
+
+        mockMvc.perform(put("/api/reservations/1").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void updateIntoAnOccupiedRoomIsConflict() throws Exception {
+        when(reservationService.updateReservation(eq(1L), any(Reservation.class), isNull()))
+                .thenThrow(new ReservationConflictException(1L, 7L));
+
+        mockMvc.perform(put("/api/reservations/1").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.conflictingReservationId").value(7));
+    }
+
+    @Test
+    void listWithoutLimitOrCursorIsNotPaginated() throws Exception {
+        when(reservationService.getAllReservations(isNull(), isNull(), isNull()))
+                .thenReturn(List.of(reservation(1L), reservation(2L)));
+
+        mockMvc.perform(get("/api/reservations"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK));
+        verify(reservationService, never()).getReservationPage(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void listWithALimitIsPaginated() throws Exception {
+        when(reservationService.getReservationPage(isNull(), eq(1), isNull(), isNull(), isNull()))
+                .thenReturn(new ReservationPage(List.of(reservation(1L)), 1L, true));
+
+        mockMvc.perform(get("/api/reservations").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().string("X-Next-Cursor", "1"))
+                .andExpect(header().string(HttpHeaders.LINK, containsString("after=1")));
+        verify(reservationService, never()).getAllReservations(any(), any(), any());
+    }
+
+    @Test
+    void exportStreamsWithItsOwnTimeout() throws Exception {
+        Reservation reservation = new Reservation();
+        reservation.setId(3L);
+        when(reservationService.exportReservations(isNull(), isNull(), isNull(), isNull(), any())).thenAnswer(invocation -> {
+            invocation.<Consumer<Reservation>>getArgument(4).accept(reservation);
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/reservations/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(EXPORT_TIMEOUT_MILLIS);
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(startsWith("{\"id\":3,")));
+    }
+
+    private static Reservation reservation(Long id) {
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        return reservation;
+    }
+}
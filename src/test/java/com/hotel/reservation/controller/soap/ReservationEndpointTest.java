@@ -0,0 +1,77 @@
+package com.hotel.reservation.controller.soap;
+
+import com.hotel.reservation.service.BookingResult;
+import com.hotel.reservation.service.ReservationBatchService;
+import com.hotel.reservation.service.ReservationService;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Statuts et messages des éléments d'un lot SOAP, le lot lui-même étant simulé.
+ */
+class ReservationEndpointTest {
+    private final ReservationBatchService batchService = mock(ReservationBatchService.class);
+    private final ReservationEndpoint endpoint = new ReservationEndpoint(mock(ReservationService.class), batchService, 500);
+
+    @Test
+    void constraintViolationIsAClientErrorWithoutTheSql() {
+        String sql = "Referential integrity constraint violation: \"FK_CHAMBRE: PUBLIC.RESERVATION FOREIGN KEY(CHAMBRE_ID)"
+                + " REFERENCES PUBLIC.CHAMBRE(ID) (CAST(99 AS BIGINT))\"; SQL statement: insert into reservation ...";
+        when(batchService.applyBatch(anyList())).thenReturn(List.of(
+                BookingResult.success(1L),
+                BookingResult.failure(violation(sql)),
+                BookingResult.failure(violation("NULL not allowed for column \"DATE_FIN\"; SQL statement: update reservation ..."))));
+
+        List<ReservationBatchResult> results = createBatch(3).getResult();
+
+        assertThat(results).extracting(ReservationBatchResult::getStatus).containsExactly("OK", "INVALID_ARGUMENT", "INVALID_ARGUMENT");
+        assertThat(results.get(1).getMessage()).isEqualTo("La chambre spécifiée n'existe pas");
+        assertThat(results.get(2).getMessage()).isEqualTo("Données refusées par une contrainte d'intégrité");
+        assertThat(results).extracting(ReservationBatchResult::getMessage).noneMatch(message -> message != null && message.contains("SQL"));
+    }
+
+    @Test
+    void missingDatesAreRejectedBeforeTheBatch() {
+        when(batchService.applyBatch(anyList())).thenReturn(List.of(BookingResult.success(1L)));
+        CreateReservationsBatchRequest request = new CreateReservationsBatchRequest();
+        request.getReservation().add(new ReservationInput());
+        request.getReservation().add(input());
+
+        List<ReservationBatchResult> results = endpoint.createReservationsBatch(request).getResult();
+
+        assertThat(results).extracting(ReservationBatchResult::getStatus).containsExactly("INVALID_ARGUMENT", "OK");
+        assertThat(results).extracting(ReservationBatchResult::getIndex).containsExactly(0, 1);
+    }
+
+    private CreateReservationsBatchResponse createBatch(int size) {
+        CreateReservationsBatchRequest request = new CreateReservationsBatchRequest();
+        for (int i = 0; i < size; i++) {
+            request.getReservation().add(input());
+        }
+        return endpoint.createReservationsBatch(request);
+    }
+
+    private static ReservationInput input() {
+        ReservationInput input = new ReservationInput();
+        input.setDateDebut(LocalDate.of(2030, 1, 1));
+        input.setDateFin(LocalDate.of(2030, 1, 3));
+        return input;
+    }
+
+    /** Exception telle que la traduit Spring à partir d'une violation de contrainte Hibernate. */
+    private static DataIntegrityViolationException violation(String sqlMessage) {
+        SQLException sqlException = new SQLException(sqlMessage);
+        return new DataIntegrityViolationException("could not execute statement [" + sqlMessage + "]",
+                new ConstraintViolationException("could not execute statement", sqlException, null));
+    }
+}
@@ -0,0 +1,137 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.config.HibernateCacheConfig;
+import com.hotel.reservation.entity.Chambre;
+import com.hotel.reservation.entity.Client;
+import com.hotel.reservation.entity.Reservation;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.cache.CacheManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Les lectures de réservations chargent client et chambre dans la même requête : une seule
+ * instruction SQL quel que soit le nombre de réservations (et non 1 + 2N selects).
+ */
+@DataJpaTest
+@Import(HibernateCacheConfig.class)
+class ReservationRepositoryTest {
+    private static final int RESERVATIONS = 20;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager hibernateCacheManager;
+
+    private Statistics statistics;
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < RESERVATIONS; i++) {
+            Client client = new Client();
+            client.setNom("Client " + i);
+            entityManager.persist(client);
+            Chambre chambre = new Chambre();
+            chambre.setType("Standard");
+            chambre.setPrix(100.0);
+            chambre.setDisponible(true);
+            entityManager.persist(chambre);
+
+            Reservation reservation = new Reservation();
+            reservation.setClient(client);
+            reservation.setChambre(chambre);
+            reservation.setDateDebut(LocalDate.of(2030, 1, 1).plusDays(i));
+            reservation.setDateFin(LocalDate.of(2030, 1, 2).plusDays(i));
+            entityManager.persist(reservation);
+            ids.add(reservation.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void findAllLoadsClientAndChambreInOneStatement() {
+        List<Reservation> reservations = reservationRepository.findAll();
+
+        assertThat(reservations).hasSize(RESERVATIONS);
+        assertLoadedInOneStatement(reservations);
+    }
+
+    @Test
+    void findPageAfterLoadsClientAndChambreInOneStatement() {
+        List<Reservation> reservations = reservationRepository.findPageAfter(0L, null, null, null,
+                PageRequest.of(0, RESERVATIONS));
+
+        assertThat(reservations).hasSize(RESERVATIONS);
+        assertLoadedInOneStatement(reservations);
+    }
+
+    @Test
+    void unpagedFindPageAfterReturnsEveryReservationInOneStatement() {
+        List<Reservation> reservations = reservationRepository.findPageAfter(0L, null, null, null, Pageable.unpaged());
+
+        assertThat(reservations).extracting(Reservation::getId).containsExactlyElementsOf(ids);
+        assertLoadedInOneStatement(reservations);
+    }
+
+    @Test
+    void findByIdLoadsClientAndChambreInOneStatement() {
+        Reservation reservation = reservationRepository.findById(ids.get(0)).orElseThrow();
+
+        assertLoadedInOneStatement(List.of(reservation));
+    }
+
+    @Test
+    void findAllByIdLoadsClientAndChambreInOneStatement() {
+        List<Reservation> reservations = reservationRepository.findAllById(ids);
+
+        assertThat(reservations).hasSize(RESERVATIONS);
+        assertLoadedInOneStatement(reservations);
+    }
+
+    @Test
+    void chambreIsPutInTheContextCacheManager() {
+        // Hibernate ne met pas en cache une entité insérée par la transaction en cours : ligne écrite en SQL
+        jdbcTemplate.update("insert into chambres (id, type, prix, disponible, version) values (?, ?, ?, ?, 0)",
+                -1L, "Suite", 250.0, true);
+
+        assertThat(entityManager.find(Chambre.class, -1L).getType()).isEqualTo("Suite");
+
+        assertThat(statistics.getSecondLevelCachePutCount()).isEqualTo(1);
+        assertThat(entityManager.getEntityManagerFactory().getCache().contains(Chambre.class, -1L)).isTrue();
+        assertThat(hibernateCacheManager.getCache(Chambre.class.getName())).isNotNull();
+    }
+
+    private void assertLoadedInOneStatement(List<Reservation> reservations) {
+        for (Reservation reservation : reservations) {
+            assertThat(reservation.getClient().getNom()).startsWith("Client ");
+            assertThat(reservation.getChambre().getType()).isEqualTo("Standard");
+        }
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,92 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Lot appliqué dans une transaction, annulé puis rejoué opération par opération au premier échec.
+ */
+class ReservationBatchServiceTest {
+    private final ReservationService reservationService = mock(ReservationService.class);
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ReservationBatchService batchService =
+            new ReservationBatchService(reservationService, reservationRepository, transactionManager);
+
+    @Test
+    void batchWithoutFailureIsCommittedOnce() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        Reservation first = reservation(1L);
+        Reservation second = reservation(2L);
+        when(reservationService.createReservation(first)).thenReturn(first);
+        when(reservationService.updateReservation(10L, second)).thenReturn(second);
+
+        List<BookingResult> results = batchService.applyBatch(List.of(
+                BookingOperation.create(first), BookingOperation.update(10L, second), BookingOperation.cancel(11L)));
+
+        assertThat(results).extracting(BookingResult::success).containsExactly(true, true, true);
+        assertThat(results).extracting(BookingResult::reservationId).containsExactly(1L, 2L, 11L);
+        verify(transactionManager, times(1)).commit(any());
+        verify(transactionManager, never()).rollback(any());
+        // Réservations modifiées ou annulées préchargées en une requête
+        verify(reservationRepository).findAllById(List.of(10L, 11L));
+    }
+
+    @Test
+    void failureRollsBackTheBatchAndReplaysEachOperationAlone() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        Reservation first = reservation(1L);
+        Reservation conflicting = reservation(2L);
+        ReservationConflictException conflict = new ReservationConflictException(5L);
+        when(reservationService.createReservation(first)).thenReturn(first);
+        when(reservationService.createReservation(conflicting)).thenThrow(conflict);
+        doThrow(new RuntimeException("Réservation non trouvée avec l'id: 12")).when(reservationService).deleteReservation(12L);
+
+        List<BookingResult> results = batchService.applyBatch(List.of(
+                BookingOperation.create(first), BookingOperation.create(conflicting),
+                BookingOperation.cancel(11L), BookingOperation.cancel(12L)));
+
+        assertThat(results).extracting(BookingResult::success).containsExactly(true, false, true, false);
+        assertThat(results.get(0).reservationId()).isEqualTo(1L);
+        assertThat(results.get(1).error()).isSameAs(conflict);
+        assertThat(results.get(3).error()).hasMessageContaining("non trouvée");
+        // Lot annulé au conflit, puis une transaction par opération : deux validées, deux annulées
+        verify(transactionManager, times(5)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionManager, times(3)).rollback(any());
+        verify(reservationService, times(2)).createReservation(first);
+        verify(reservationService, times(1)).deleteReservation(11L);
+    }
+
+    @Test
+    void emptyBatchOpensNoTransaction() {
+        assertThat(batchService.applyBatch(List.of())).isEmpty();
+
+        verify(transactionManager, never()).getTransaction(any());
+        verify(reservationRepository, never()).findAllById(anyList());
+    }
+
+    private static Reservation reservation(Long id) {
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setDateDebut(LocalDate.of(2030, 1, 1));
+        reservation.setDateFin(LocalDate.of(2030, 1, 3));
+        return reservation;
+    }
+}
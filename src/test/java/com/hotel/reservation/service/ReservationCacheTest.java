@@ -0,0 +1,61 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.repository.ReservationRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReservationCacheTest {
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final RoomNightClaims roomNightClaims = mock(RoomNightClaims.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReservationCache reservationCache;
+
+    @BeforeEach
+    void setUp() {
+        reservationCache = new ReservationCache(reservationRepository, roomNightClaims, meterRegistry, 100, Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(reservationCache, "entityManager", mock(EntityManager.class));
+    }
+
+    @Test
+    void exportsLoadCountAndLoadDuration() {
+        Reservation reservation = new Reservation();
+        reservation.setId(1L);
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+
+        reservationCache.get(1L);
+        reservationCache.get(1L);
+
+        FunctionCounter loads = meterRegistry.get("cache.load")
+                .tags("cache", "reservations", "result", "success").functionCounter();
+        TimeGauge loadDuration = meterRegistry.get("cache.load.duration").tag("cache", "reservations").timeGauge();
+        assertThat(loads.count()).isEqualTo(1);
+        assertThat(loadDuration.value()).isGreaterThan(0);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "reservations", "result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void missingReservationIsNotCached() {
+        when(reservationRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThat(reservationCache.get(2L)).isEmpty();
+        assertThat(reservationCache.get(2L)).isEmpty();
+
+        verify(reservationRepository, times(2)).findById(2L);
+    }
+}
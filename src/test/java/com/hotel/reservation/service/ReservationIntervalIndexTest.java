@@ -0,0 +1,67 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.repository.ReservationPeriod;
+import com.hotel.reservation.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReservationIntervalIndexTest {
+    private static final LocalDate DAY = LocalDate.of(2030, 6, 1);
+
+    private ReservationIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        when(reservationRepository.findAllPeriods()).thenReturn(List.of(
+                new ReservationPeriod(1L, 100L, DAY, DAY.plusDays(3))));
+        index = new ReservationIntervalIndex(reservationRepository, mock(RoomNightClaims.class));
+        index.load();
+    }
+
+    @Test
+    void movingToAnotherRoomFreesThePreviousRoom() {
+        ReservationPeriod previous = index.reserve(new ReservationPeriod(1L, 200L, DAY, DAY.plusDays(3)));
+
+        assertThat(previous.chambreId()).isEqualTo(100L);
+        assertThat(index.chambreOf(1L)).isEqualTo(200L);
+        assertThat(index.isAvailable(100L, DAY, DAY.plusDays(3))).isTrue();
+        assertThat(index.isAvailable(200L, DAY.plusDays(1), DAY.plusDays(2))).isFalse();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void movingIntoAnOccupiedRoomIsRefusedAndLeavesTheIndexUnchanged() {
+        index.reserve(new ReservationPeriod(2L, 200L, DAY.plusDays(2), DAY.plusDays(5)));
+
+        assertThatThrownBy(() -> index.reserve(new ReservationPeriod(1L, 200L, DAY, DAY.plusDays(3))))
+                .isInstanceOf(ReservationConflictException.class);
+        assertThat(index.chambreOf(1L)).isEqualTo(100L);
+        assertThat(index.isAvailable(100L, DAY, DAY.plusDays(1))).isFalse();
+    }
+
+    @Test
+    void restoreUndoesAMove() {
+        ReservationPeriod previous = index.reserve(new ReservationPeriod(1L, 200L, DAY, DAY.plusDays(3)));
+
+        index.restore(1L, previous);
+
+        assertThat(index.chambreOf(1L)).isEqualTo(100L);
+        assertThat(index.isAvailable(200L, DAY, DAY.plusDays(3))).isTrue();
+        assertThat(index.isAvailable(100L, DAY, DAY.plusDays(3))).isFalse();
+    }
+
+    @Test
+    void invalidPeriodIsRejected() {
+        assertThatThrownBy(() -> index.checkAvailability(100L, DAY, DAY, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
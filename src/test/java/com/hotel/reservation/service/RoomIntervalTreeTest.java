@@ -0,0 +1,107 @@
+package com.hotel.reservation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoomIntervalTreeTest {
+
+    @Test
+    void boundariesAreHalfOpen() {
+        RoomIntervalTree tree = new RoomIntervalTree();
+        tree.insert(10, 13, 1);
+
+        // Le jour de départ est libre, dans un sens comme dans l'autre
+        assertThat(tree.findOverlap(13, 15, RoomIntervalTree.NONE)).isEqualTo(RoomIntervalTree.NONE);
+        assertThat(tree.findOverlap(7, 10, RoomIntervalTree.NONE)).isEqualTo(RoomIntervalTree.NONE);
+        assertThat(tree.findOverlap(12, 13, RoomIntervalTree.NONE)).isEqualTo(1);
+        assertThat(tree.findOverlap(9, 11, RoomIntervalTree.NONE)).isEqualTo(1);
+        assertThat(tree.findOverlap(11, 12, RoomIntervalTree.NONE)).isEqualTo(1);
+        assertThat(tree.findOverlap(5, 20, RoomIntervalTree.NONE)).isEqualTo(1);
+    }
+
+    @Test
+    void excludedReservationDoesNotConflictWithItself() {
+        RoomIntervalTree tree = new RoomIntervalTree();
+        tree.insert(10, 13, 1);
+        tree.insert(13, 15, 2);
+
+        assertThat(tree.findOverlap(11, 13, 1)).isEqualTo(RoomIntervalTree.NONE);
+        assertThat(tree.findOverlap(11, 14, 1)).isEqualTo(2);
+    }
+
+    @Test
+    void removingAnAbsentIntervalFails() {
+        RoomIntervalTree tree = new RoomIntervalTree();
+        tree.insert(10, 13, 1);
+
+        assertThatThrownBy(() -> tree.remove(10, 13, 2)).isInstanceOf(IllegalStateException.class);
+        assertThat(tree.size()).isEqualTo(1);
+    }
+
+    @Test
+    void staysBalancedAfterRemovals() {
+        RoomIntervalTree tree = new RoomIntervalTree();
+        int count = 4096;
+        // Insertions croissantes : le pire cas d'un arbre binaire non équilibré
+        for (int i = 0; i < count; i++) {
+            tree.insert(2L * i, 2L * i + 1, i);
+        }
+        assertThat(tree.height()).isLessThanOrEqualTo(maxAvlHeight(count));
+
+        // On retire tout le côté gauche, puis un élément sur deux de ce qui reste
+        for (int i = 0; i < count / 2; i++) {
+            tree.remove(2L * i, 2L * i + 1, i);
+        }
+        for (int i = count / 2; i < count; i += 2) {
+            tree.remove(2L * i, 2L * i + 1, i);
+        }
+        assertThat(tree.size()).isEqualTo(count / 4);
+        assertThat(tree.height()).isLessThanOrEqualTo(maxAvlHeight(count / 4));
+        assertThat(tree.findOverlap(0, count, RoomIntervalTree.NONE)).isEqualTo(RoomIntervalTree.NONE);
+        assertThat(tree.findOverlap(2L * (count / 2 + 1), 2L * (count / 2 + 1) + 1, RoomIntervalTree.NONE))
+                .isEqualTo(count / 2 + 1);
+    }
+
+    @Test
+    void matchesLinearScanUnderRandomInsertsAndRemovals() {
+        Random random = new Random(42);
+        RoomIntervalTree tree = new RoomIntervalTree();
+        List<long[]> stays = new ArrayList<>();
+        long nextId = 0;
+        for (int step = 0; step < 20_000; step++) {
+            long start = random.nextInt(2000);
+            long end = start + 1 + random.nextInt(14);
+            if (!stays.isEmpty() && random.nextInt(3) == 0) {
+                long[] stay = stays.remove(random.nextInt(stays.size()));
+                tree.remove(stay[0], stay[1], stay[2]);
+            } else if (linearOverlap(stays, start, end) == RoomIntervalTree.NONE) {
+                tree.insert(start, end, nextId);
+                stays.add(new long[]{start, end, nextId++});
+            }
+            assertThat(tree.findOverlap(start, end, RoomIntervalTree.NONE) == RoomIntervalTree.NONE)
+                    .isEqualTo(linearOverlap(stays, start, end) == RoomIntervalTree.NONE);
+        }
+        assertThat(tree.size()).isEqualTo(stays.size());
+        assertThat(tree.height()).isLessThanOrEqualTo(maxAvlHeight(stays.size()));
+    }
+
+    private static long linearOverlap(List<long[]> stays, long start, long end) {
+        for (long[] stay : stays) {
+            if (stay[0] < end && start < stay[1]) {
+                return stay[2];
+            }
+        }
+        return RoomIntervalTree.NONE;
+    }
+
+    // Hauteur maximale d'un AVL de n nœuds : 1,44 log2(n + 2)
+    private static int maxAvlHeight(int n) {
+        return (int) Math.floor(1.4405 * Math.log(n + 2) / Math.log(2));
+    }
+}
@@ -0,0 +1,159 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.entity.Chambre;
+import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.repository.ChambreRepository;
+import com.hotel.reservation.repository.ReservationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Créations concurrentes sur une même chambre : chaque nuit ne doit être gagnée que par une seule
+ * réservation, et chaque écriture passe par le verrou de la chambre.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"grpc.server.port=-1", "spring.jpa.show-sql=false"})
+class RoomLocksConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS_PER_THREAD = 25;
+    private static final int NIGHTS = 30;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ChambreRepository chambreRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void sameStayFromAllThreadsHasASingleWinner() throws Exception {
+        Long chambreId = chambreRepository.findAll().get(0).getId();
+        LocalDate from = LocalDate.now().plusYears(5);
+        long lockWaitsBefore = acquiredLockWaits().count();
+
+        List<Outcome> outcomes = race(THREADS, attempt -> stay(chambreId, from, from.plusDays(3)));
+
+        assertThat(outcomes).filteredOn(Outcome::won).hasSize(1);
+        assertThat(outcomes).filteredOn(outcome -> !outcome.won())
+                .allSatisfy(outcome -> assertThat(outcome.error()).isInstanceOf(ReservationConflictException.class));
+        assertThat(acquiredLockWaits().count() - lockWaitsBefore).isGreaterThanOrEqualTo(THREADS);
+    }
+
+    @Test
+    void overlappingStaysNeverShareANight() throws Exception {
+        Long chambreId = chambreRepository.findAll().get(1).getId();
+        LocalDate first = LocalDate.now().plusYears(6);
+        long lockWaitsBefore = acquiredLockWaits().count();
+
+        // Séjours de 1 à 3 nuits qui se recouvrent d'un essai à l'autre sur une fenêtre de 30 nuits
+        List<Outcome> outcomes = race(THREADS * ATTEMPTS_PER_THREAD, attempt -> {
+            LocalDate start = first.plusDays((attempt * 7L) % NIGHTS);
+            return stay(chambreId, start, start.plusDays(1 + attempt % 3));
+        });
+
+        List<Reservation> winners = outcomes.stream().filter(Outcome::won).map(Outcome::reservation).toList();
+        assertThat(winners).isNotEmpty();
+        assertThat(outcomes).filteredOn(outcome -> !outcome.won()).allSatisfy(outcome ->
+                assertThat(outcome.error()).isInstanceOfAny(ReservationConflictException.class, CannotAcquireLockException.class));
+
+        Map<LocalDate, Long> owners = new TreeMap<>();
+        for (Reservation stored : reservationRepository.findAllById(winners.stream().map(Reservation::getId).toList())) {
+            for (LocalDate night = stored.getDateDebut(); night.isBefore(stored.getDateFin()); night = night.plusDays(1)) {
+                Long previous = owners.put(night, stored.getId());
+                assertThat(previous).as("nuit %s réservée deux fois", night).isNull();
+            }
+        }
+        assertThat(acquiredLockWaits().count() - lockWaitsBefore).isGreaterThanOrEqualTo(outcomes.size());
+        assertThat(acquiredLockWaits().max(TimeUnit.NANOSECONDS)).isGreaterThan(0);
+    }
+
+    /**
+     * Lance toutes les tentatives en même temps derrière une barrière de départ et attend leur issue.
+     */
+    private List<Outcome> race(int attempts, StayFactory stays) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Queue<Integer> pending = new ConcurrentLinkedQueue<>();
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            pending.add(attempt);
+        }
+        Queue<Outcome> outcomes = new ConcurrentLinkedQueue<>();
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < THREADS; thread++) {
+                workers.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    Integer attempt;
+                    while ((attempt = pending.poll()) != null) {
+                        try {
+                            outcomes.add(new Outcome(reservationService.createReservation(stays.create(attempt)), null));
+                        } catch (RuntimeException e) {
+                            outcomes.add(new Outcome(null, e));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            assertThat(ready.await(10, TimeUnit.SECONDS)).isTrue();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(outcomes).hasSize(attempts);
+        return new ArrayList<>(outcomes);
+    }
+
+    private Timer acquiredLockWaits() {
+        return meterRegistry.get("reservation.room.lock.wait").tag("outcome", "acquired").timer();
+    }
+
+    private static Reservation stay(Long chambreId, LocalDate dateDebut, LocalDate dateFin) {
+        Chambre chambre = new Chambre();
+        chambre.setId(chambreId);
+        Reservation reservation = new Reservation();
+        reservation.setChambre(chambre);
+        reservation.setDateDebut(dateDebut);
+        reservation.setDateFin(dateFin);
+        return reservation;
+    }
+
+    @FunctionalInterface
+    private interface StayFactory {
+        Reservation create(int attempt);
+    }
+
+    private record Outcome(Reservation reservation, RuntimeException error) {
+        boolean won() {
+            return error == null;
+        }
+    }
+}
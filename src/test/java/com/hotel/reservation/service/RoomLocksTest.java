@@ -0,0 +1,99 @@
+package com.hotel.reservation.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verrous de chambres hors Spring : chaque tâche simule une transaction par une synchronisation
+ * ouverte sur son thread, et la termine comme le ferait le gestionnaire de transactions.
+ */
+class RoomLocksTest {
+    private static final int STRIPES = 16;
+
+    private final RoomLocks roomLocks = new RoomLocks(new SimpleMeterRegistry(), Duration.ofMillis(200), STRIPES);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void bookingOnAnotherRoomDoesNotWait() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> inTransaction(() -> {
+            roomLocks.lock(1L);
+            locked.countDown();
+            await(release);
+        }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            for (long chambreId = 2; chambreId <= STRIPES; chambreId++) {
+                long id = chambreId;
+                long waitedNanos = executor.submit(() -> inTransaction(() -> roomLocks.lock(id))).get(5, TimeUnit.SECONDS);
+                // Bien en deçà du délai d'attente de 200 ms
+                assertThat(waitedNanos).as("chambre %d", id).isLessThan(TimeUnit.MILLISECONDS.toNanos(100));
+            }
+            Future<Long> sameRoom = executor.submit(() -> inTransaction(() -> roomLocks.lock(1L)));
+            assertThatThrownBy(() -> sameRoom.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(CannotAcquireLockException.class);
+        } finally {
+            release.countDown();
+        }
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void locksAreReleasedWhenTheTransactionCompletes() throws Exception {
+        executor.submit(() -> inTransaction(() -> roomLocks.lock(3L, 1L, 3L + STRIPES))).get(5, TimeUnit.SECONDS);
+
+        long waitedNanos = executor.submit(() -> inTransaction(() -> roomLocks.lock(1L, 3L))).get(5, TimeUnit.SECONDS);
+
+        assertThat(waitedNanos).isLessThan(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void lockingOutsideATransactionIsRejected() {
+        assertThatThrownBy(() -> roomLocks.lock(1L)).isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * Exécute action dans une pseudo-transaction et renvoie sa durée, verrous compris.
+     */
+    private static long inTransaction(Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        long startNanos = System.nanoTime();
+        try {
+            action.run();
+            return System.nanoTime() - startNanos;
+        } finally {
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_COMMITTED);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
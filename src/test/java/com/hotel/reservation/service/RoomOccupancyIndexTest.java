@@ -0,0 +1,103 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.entity.Chambre;
+import com.hotel.reservation.repository.ChambreRepository;
+import com.hotel.reservation.repository.ReservationPeriod;
+import com.hotel.reservation.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RoomOccupancyIndexTest {
+    private static final int HORIZON = 100;
+
+    private final LocalDate today = LocalDate.now();
+    private final Chambre standard = chambre(1L, "Standard");
+    private final Chambre suite = chambre(2L, "Suite");
+    private ChambreRepository chambreRepository;
+    private ReservationIntervalIndex intervalIndex;
+    private RoomOccupancyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        List<ReservationPeriod> periods = List.of(
+                new ReservationPeriod(10L, 1L, today.plusDays(5), today.plusDays(7)),
+                // Au-delà de l'horizon au chargement, y entre au premier jour de décalage
+                new ReservationPeriod(11L, 1L, today.plusDays(HORIZON), today.plusDays(HORIZON + 2)));
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        when(reservationRepository.findAllPeriods()).thenReturn(periods);
+        chambreRepository = mock(ChambreRepository.class);
+        when(chambreRepository.findAll()).thenReturn(List.of(standard, suite));
+        RoomNightClaims roomNightClaims = mock(RoomNightClaims.class);
+
+        intervalIndex = new ReservationIntervalIndex(reservationRepository, roomNightClaims);
+        intervalIndex.load();
+        index = new RoomOccupancyIndex(chambreRepository, reservationRepository, intervalIndex, roomNightClaims, HORIZON);
+        index.load();
+    }
+
+    @Test
+    void rollShiftsOccupiedNightsAndLoadsNightsEnteringTheHorizon() {
+        index.roll(today.plusDays(1));
+
+        assertThat(availableIds(today.plusDays(5), today.plusDays(7))).containsExactly(2L);
+        assertThat(availableIds(today.plusDays(6), today.plusDays(7))).containsExactly(2L);
+        assertThat(availableIds(today.plusDays(4), today.plusDays(5))).containsExactly(1L, 2L);
+        assertThat(availableIds(today.plusDays(7), today.plusDays(8))).containsExactly(1L, 2L);
+        assertThat(availableIds(today.plusDays(HORIZON), today.plusDays(HORIZON + 1))).containsExactly(2L);
+    }
+
+    @Test
+    void rollOverMoreThanAWordKeepsTheRemainingNights() {
+        LocalDate longStay = today.plusDays(70);
+        ReservationPeriod period = new ReservationPeriod(12L, 2L, longStay, longStay.plusDays(3));
+        intervalIndex.reserve(period);
+        index.move(null, period);
+
+        index.roll(today.plusDays(66));
+
+        assertThat(availableIds(longStay, longStay.plusDays(3))).containsExactly(1L);
+        assertThat(availableIds(longStay.plusDays(3), longStay.plusDays(4))).containsExactly(1L, 2L);
+        assertThat(availableIds(today.plusDays(HORIZON), today.plusDays(HORIZON + 2))).containsExactly(2L);
+    }
+
+    @Test
+    void readsTypeAndAvailabilityFromTheEntities() {
+        suite.setDisponible(false);
+        standard.setType("Suite");
+
+        assertThat(availableIds(today.plusDays(1), today.plusDays(2))).containsExactly(1L);
+        assertThat(index.findAvailable("suite", today.plusDays(1), today.plusDays(2)))
+                .extracting(Chambre::getId).containsExactly(1L);
+    }
+
+    @Test
+    void chambreWithoutBitsetFallsBackToTheIntervalIndex() {
+        // Chambre apparue en base sans passer par ChambreService : absente des bitsets
+        Chambre deluxe = chambre(3L, "Deluxe");
+        when(chambreRepository.findAll()).thenReturn(List.of(standard, suite, deluxe));
+        intervalIndex.reserve(new ReservationPeriod(13L, 3L, today.plusDays(5), today.plusDays(6)));
+
+        assertThat(availableIds(today.plusDays(5), today.plusDays(6))).containsExactly(2L);
+        assertThat(availableIds(today.plusDays(6), today.plusDays(7))).containsExactly(2L, 3L);
+    }
+
+    private List<Long> availableIds(LocalDate from, LocalDate to) {
+        return index.findAvailable(null, from, to).stream().map(Chambre::getId).toList();
+    }
+
+    private static Chambre chambre(Long id, String type) {
+        Chambre chambre = new Chambre();
+        chambre.setId(id);
+        chambre.setType(type);
+        chambre.setPrix(100.0);
+        chambre.setDisponible(true);
+        return chambre;
+    }
+}
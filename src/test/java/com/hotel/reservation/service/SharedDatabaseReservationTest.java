@@ -0,0 +1,165 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.HotelReservationApplication;
+import com.hotel.reservation.entity.Chambre;
+import com.hotel.reservation.entity.Reservation;
+import com.hotel.reservation.repository.ReservationRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Deux instances (profil shared) sur la même base H2 fichier : les écritures de l'une doivent être
+ * visibles de l'autre pour les refus de double réservation, la disponibilité et les lectures par id.
+ */
+class SharedDatabaseReservationTest {
+    private static final int ATTEMPTS = 8;
+
+    @TempDir
+    static Path dataDir;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        String url = "jdbc:h2:file:" + dataDir.resolve("hotel_reservation").toAbsolutePath() + ";AUTO_SERVER=TRUE";
+        nodeA = start(url);
+        nodeB = start(url);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    @Test
+    void deleteOnOneNodeFreesTheNightsOnTheOther() {
+        ReservationService reservationsA = nodeA.getBean(ReservationService.class);
+        ReservationService reservationsB = nodeB.getBean(ReservationService.class);
+        ChambreService chambresA = nodeA.getBean(ChambreService.class);
+        LocalDate from = LocalDate.now().plusDays(10);
+        LocalDate to = from.plusDays(3);
+        Chambre chambre = chambresA.getAvailableChambres(null, from, to).get(0);
+
+        Reservation first = reservationsA.createReservation(reservation(chambre, from, to));
+        assertThat(reservationsA.getReservation(first.getId())).isPresent();
+        assertThat(ids(chambresA.getAvailableChambres(null, from, to))).doesNotContain(chambre.getId());
+        assertThatThrownBy(() -> reservationsB.createReservation(reservation(chambre, from.plusDays(1), to)))
+                .isInstanceOf(ReservationConflictException.class);
+
+        reservationsB.deleteReservation(first.getId());
+
+        assertThat(reservationsA.getReservation(first.getId())).isEmpty();
+        assertThat(ids(chambresA.getAvailableChambres(null, from, to))).contains(chambre.getId());
+        Reservation rebooked = reservationsA.createReservation(reservation(chambre, from, to));
+        assertThat(reservationsA.getReservation(rebooked.getId())).isPresent();
+    }
+
+    @Test
+    void moveOnOneNodeFreesThePreviousNightsOnTheOther() {
+        ReservationService reservationsA = nodeA.getBean(ReservationService.class);
+        ReservationService reservationsB = nodeB.getBean(ReservationService.class);
+        LocalDate from = LocalDate.now().plusDays(40);
+        LocalDate to = from.plusDays(2);
+        Chambre chambre = nodeA.getBean(ChambreService.class).getAvailableChambres(null, from, to).get(0);
+
+        Reservation booked = reservationsA.createReservation(reservation(chambre, from, to));
+        assertThat(reservationsA.getReservation(booked.getId())).get()
+                .extracting(Reservation::getDateDebut).isEqualTo(from);
+
+        reservationsB.updateReservation(booked.getId(), reservation(chambre, to, to.plusDays(2)));
+
+        assertThat(reservationsA.getReservation(booked.getId())).get()
+                .extracting(Reservation::getDateDebut).isEqualTo(to);
+        reservationsA.createReservation(reservation(chambre, from, to));
+        assertThatThrownBy(() -> reservationsA.createReservation(reservation(chambre, to, to.plusDays(1))))
+                .isInstanceOf(ReservationConflictException.class);
+    }
+
+    @Test
+    void concurrentBookingsFromBothNodesHaveASingleWinner() throws Exception {
+        List<ReservationService> nodes = List.of(nodeA.getBean(ReservationService.class),
+                nodeB.getBean(ReservationService.class));
+        LocalDate from = LocalDate.now().plusDays(70);
+        LocalDate to = from.plusDays(2);
+        Chambre chambre = nodeA.getBean(ChambreService.class).getAvailableChambres(null, from, to).get(0);
+
+        // Même séjour depuis les deux instances à la fois : seule la base peut les départager
+        ExecutorService executor = Executors.newFixedThreadPool(ATTEMPTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Reservation>> attempts = new ArrayList<>();
+        try {
+            for (int i = 0; i < ATTEMPTS; i++) {
+                ReservationService node = nodes.get(i % nodes.size());
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    return node.createReservation(reservation(chambre, from, to));
+                }));
+            }
+            start.countDown();
+            List<Reservation> winners = new ArrayList<>();
+            for (Future<Reservation> attempt : attempts) {
+                try {
+                    winners.add(attempt.get(30, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(ReservationConflictException.class);
+                }
+            }
+            assertThat(winners).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Reservation> stored = nodeB.getBean(ReservationRepository.class).findAll().stream()
+                .filter(reservation -> reservation.getChambre().getId().equals(chambre.getId()))
+                .filter(reservation -> reservation.getDateDebut().isBefore(to) && reservation.getDateFin().isAfter(from))
+                .toList();
+        assertThat(stored).hasSize(1);
+    }
+
+    private static ConfigurableApplicationContext start(String url) {
+        return new SpringApplicationBuilder(HotelReservationApplication.class)
+                .profiles("shared")
+                .run("--spring.datasource.url=" + url,
+                        "--server.port=0",
+                        "--grpc.server.port=-1",
+                        "--spring.jpa.show-sql=false");
+    }
+
+    private static Reservation reservation(Chambre chambre, LocalDate dateDebut, LocalDate dateFin) {
+        Chambre reference = new Chambre();
+        reference.setId(chambre.getId());
+        Reservation reservation = new Reservation();
+        reservation.setChambre(reference);
+        reservation.setDateDebut(dateDebut);
+        reservation.setDateFin(dateFin);
+        return reservation;
+    }
+
+    private static List<Long> ids(List<Chambre> chambres) {
+        return chambres.stream().map(Chambre::getId).toList();
+    }
+}